@@ -114,14 +114,15 @@ public class AbstractAction extends AnAction {
 
         PsiClass targetClass = CustomPsiUtils.getTargetClass(editor, psiFile);
 
-        if (!DocViewUtils.isDocViewClass(targetClass)) {
+        // update 调用频繁, 使用缓存的判断结果
+        if (!DocViewUtils.isDocViewClassCached(targetClass)) {
             presentation.setEnabledAndVisible(false);
             return;
         }
 
         PsiMethod targetMethod = CustomPsiUtils.getTargetMethod(editor, psiFile);
 
-        if (targetMethod != null && !DocViewUtils.isDocViewMethod(targetMethod)) {
+        if (targetMethod != null && !DocViewUtils.isDocViewMethodCached(targetMethod)) {
             presentation.setEnabledAndVisible(false);
             return;
         }
@@ -129,4 +130,9 @@ public class AbstractAction extends AnAction {
         presentation.setEnabledAndVisible(true);
     }
 
+    @Override
+    public @NotNull ActionUpdateThread getActionUpdateThread() {
+        return ActionUpdateThread.BGT;
+    }
+
 }
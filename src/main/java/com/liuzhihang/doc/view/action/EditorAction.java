@@ -75,7 +75,7 @@ public class EditorAction extends AbstractAction {
         }
 
         // 判断是否是 Doc View 类，是的话 隐藏
-        if (DocViewUtils.isDocViewClass(targetClass)) {
+        if (DocViewUtils.isDocViewClassCached(targetClass)) {
             presentation.setEnabledAndVisible(false);
             return;
         }
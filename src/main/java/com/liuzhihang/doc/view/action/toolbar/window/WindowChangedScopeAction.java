@@ -0,0 +1,50 @@
+package com.liuzhihang.doc.view.action.toolbar.window;
+
+import com.intellij.openapi.actionSystem.ActionUpdateThread;
+import com.intellij.openapi.actionSystem.AnActionEvent;
+import com.intellij.openapi.actionSystem.PlatformDataKeys;
+import com.intellij.openapi.actionSystem.ToggleAction;
+import com.intellij.openapi.project.DumbAware;
+import com.intellij.openapi.project.Project;
+import com.liuzhihang.doc.view.config.WindowSettings;
+import com.liuzhihang.doc.view.data.DocViewDataKeys;
+import com.liuzhihang.doc.view.ui.window.DocViewWindowPanel;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * 只展示当前分支变更的接口, 导出和上传也只包含这些接口
+ *
+ * @author liuzhihang
+ * @date 2026/10/19
+ */
+public class WindowChangedScopeAction extends ToggleAction implements DumbAware {
+
+    @Override
+    public boolean isSelected(@NotNull AnActionEvent e) {
+        Project project = e.getData(PlatformDataKeys.PROJECT);
+        return project != null && WindowSettings.getInstance(project).isChangedScope();
+    }
+
+    @Override
+    public void setSelected(@NotNull AnActionEvent e, boolean state) {
+
+        Project project = e.getData(PlatformDataKeys.PROJECT);
+        DocViewWindowPanel docViewWindowPanel = e.getData(DocViewDataKeys.WINDOW_PANE);
+
+        if (project == null) {
+            return;
+        }
+
+        WindowSettings.getInstance(project).setChangedScope(state);
+
+        if (docViewWindowPanel != null) {
+            // 快照中包含所有的类, 切换时只重新过滤
+            docViewWindowPanel.refilterCatalogTree();
+        }
+    }
+
+    @Override
+    public @NotNull ActionUpdateThread getActionUpdateThread() {
+        return ActionUpdateThread.BGT;
+    }
+}
@@ -3,6 +3,7 @@ package com.liuzhihang.doc.view.action.toolbar.window;
 import com.intellij.openapi.actionSystem.AnAction;
 import com.intellij.openapi.actionSystem.AnActionEvent;
 import com.intellij.openapi.actionSystem.PlatformDataKeys;
+import com.intellij.openapi.project.DumbAware;
 import com.intellij.openapi.project.Project;
 import com.intellij.ui.TreeExpandCollapse;
 import com.intellij.ui.treeStructure.SimpleTree;
@@ -13,7 +14,7 @@ import org.jetbrains.annotations.NotNull;
  * @author liuzhihang
  * @date 2021/10/23 19:55
  */
-public class WindowCollapseAction extends AnAction {
+public class WindowCollapseAction extends AnAction implements DumbAware {
 
     @Override
     public void actionPerformed(@NotNull AnActionEvent e) {
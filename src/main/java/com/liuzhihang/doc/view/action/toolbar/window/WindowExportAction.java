@@ -3,27 +3,33 @@ package com.liuzhihang.doc.view.action.toolbar.window;
 import com.intellij.openapi.actionSystem.AnAction;
 import com.intellij.openapi.actionSystem.AnActionEvent;
 import com.intellij.openapi.actionSystem.PlatformDataKeys;
-import com.intellij.openapi.application.ApplicationManager;
+import com.intellij.openapi.application.ReadAction;
 import com.intellij.openapi.fileChooser.FileChooser;
 import com.intellij.openapi.fileChooser.FileChooserDescriptor;
 import com.intellij.openapi.fileChooser.FileChooserDescriptorFactory;
+import com.intellij.openapi.progress.ProcessCanceledException;
 import com.intellij.openapi.progress.ProgressIndicator;
 import com.intellij.openapi.progress.ProgressManager;
 import com.intellij.openapi.progress.Task;
 import com.intellij.openapi.project.Project;
-import com.intellij.openapi.util.io.FileUtil;
 import com.intellij.openapi.vfs.VirtualFile;
 import com.liuzhihang.doc.view.DocViewBundle;
 import com.liuzhihang.doc.view.data.DocViewDataKeys;
 import com.liuzhihang.doc.view.dto.DocView;
 import com.liuzhihang.doc.view.dto.DocViewData;
 import com.liuzhihang.doc.view.notification.DocViewNotification;
+import com.liuzhihang.doc.view.ui.window.MethodNode;
 import com.liuzhihang.doc.view.ui.window.RootNode;
 import com.liuzhihang.doc.view.utils.DialogUtil;
+import com.liuzhihang.doc.view.utils.ExportUtils;
 import org.jetbrains.annotations.NotNull;
 
 import javax.swing.*;
 import java.io.File;
+import java.io.IOException;
+import java.io.StringWriter;
+import java.io.Writer;
+import java.util.List;
 
 /**
  * @author liuzhihang
@@ -61,22 +67,59 @@ public class WindowExportAction extends AnAction {
                 DocViewBundle.message("notify.export.file.cover"))) {
             return;
         }
+        // 先取出当前目录树上的方法节点, 导出过程中目录树刷新不影响本次导出
+        List<MethodNode> methodNodes = rootNode.methodNodes();
+
         ProgressManager.getInstance().run(new Task.Backgroundable(project, "Doc View export", true) {
             @Override
             public void run(@NotNull ProgressIndicator progressIndicator) {
 
-                ApplicationManager.getApplication().executeOnPooledThread(() -> ApplicationManager.getApplication().runReadAction(() -> {
+                progressIndicator.setIndeterminate(false);
+
+                // 所有文档依次写入同一个文件, 每个文档单独生成并写入, 不会同时持有所有的文档
+                // 生成失败时不会在文件中留下一半的内容
+                int success = 0;
+                int fail = 0;
+                try (Writer writer = ExportUtils.newWriter(file)) {
+                    for (int i = 0; i < methodNodes.size(); i++) {
+                        progressIndicator.checkCanceled();
+                        progressIndicator.setFraction((double) i / methodNodes.size());
 
-                    for (DocView docView : rootNode.docViewList()) {
+                        MethodNode methodNode = methodNodes.get(i);
+                        String markdownText;
                         try {
-                            FileUtil.writeToFile(file, DocViewData.markdownText(project, docView), true);
-                        } catch (Exception ignored) {
+                            markdownText = ReadAction.compute(() -> {
+                                DocView docView = methodNode.buildDocView();
+                                if (docView == null) {
+                                    return null;
+                                }
+                                StringWriter docWriter = new StringWriter();
+                                DocViewData.markdownText(project, docView, docWriter);
+                                return docWriter.toString();
+                            });
+                        } catch (ProcessCanceledException canceledException) {
+                            throw canceledException;
+                        } catch (Exception exception) {
+                            fail++;
+                            continue;
+                        }
+                        if (markdownText == null) {
+                            // 快照中的方法已经被删除
+                            continue;
                         }
+                        writer.write(markdownText);
+                        success++;
                     }
+                } catch (IOException ioException) {
+                    DocViewNotification.notifyError(project, DocViewBundle.message("notify.export.fail"));
+                    return;
+                }
 
-                }));
-
-
+                if (fail == 0) {
+                    DocViewNotification.notifyInfo(project, DocViewBundle.message("notify.export.success"));
+                } else {
+                    DocViewNotification.notifyWarn(project, DocViewBundle.message("notify.export.batch.count", success, fail));
+                }
             }
         });
     }
@@ -7,13 +7,10 @@ import com.intellij.openapi.project.Project;
 import com.intellij.ui.treeStructure.SimpleNode;
 import com.intellij.ui.treeStructure.SimpleTree;
 import com.liuzhihang.doc.view.data.DocViewDataKeys;
-import com.liuzhihang.doc.view.dto.DocView;
 import com.liuzhihang.doc.view.ui.window.DocViewNode;
 import com.liuzhihang.doc.view.utils.ExportUtils;
 import org.jetbrains.annotations.NotNull;
 
-import java.util.List;
-
 /**
  * @author liuzhihang
  * @date 2021/10/23 19:55
@@ -35,8 +32,8 @@ public class CatalogExportAction extends AnAction {
 
         if (selectedNode instanceof DocViewNode) {
             DocViewNode docViewNode = (DocViewNode) selectedNode;
-            List<DocView> docViews = docViewNode.docViewList();
-            ExportUtils.batchExportMarkdown(project, docViewNode.getName(), docViews);
+            // 文档在写入时逐个生成, 不会同时持有节点下所有的文档
+            ExportUtils.batchExportMarkdown(project, docViewNode.getName(), docViewNode.docViews());
         }
 
     }
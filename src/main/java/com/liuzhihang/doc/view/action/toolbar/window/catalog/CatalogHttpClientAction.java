@@ -3,6 +3,7 @@ package com.liuzhihang.doc.view.action.toolbar.window.catalog;
 import com.intellij.openapi.actionSystem.AnAction;
 import com.intellij.openapi.actionSystem.AnActionEvent;
 import com.intellij.openapi.actionSystem.PlatformDataKeys;
+import com.intellij.openapi.project.DumbAware;
 import com.intellij.openapi.project.Project;
 import com.intellij.ui.TreeExpandCollapse;
 import com.intellij.ui.treeStructure.SimpleNode;
@@ -17,7 +18,7 @@ import com.liuzhihang.doc.view.utils.CustomFileUtils;
  * @author liuzhihang
  * @version CatalogHttpClientAction.java, v 0.1 2022/6/16 17:53 liuzhihang
  */
-public class CatalogHttpClientAction extends AnAction {
+public class CatalogHttpClientAction extends AnAction implements DumbAware {
 
     @Override
     public void actionPerformed(AnActionEvent e) {
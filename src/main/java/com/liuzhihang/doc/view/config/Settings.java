@@ -4,15 +4,20 @@ import com.intellij.openapi.components.PersistentStateComponent;
 import com.intellij.openapi.components.State;
 import com.intellij.openapi.components.Storage;
 import com.intellij.openapi.project.Project;
+import com.intellij.openapi.util.ModificationTracker;
+import com.intellij.openapi.util.SimpleModificationTracker;
 import com.intellij.util.xmlb.XmlSerializerUtil;
+import com.intellij.util.xmlb.annotations.Transient;
 import com.liuzhihang.doc.view.constant.LombokConstant;
 import com.liuzhihang.doc.view.constant.SpringConstant;
 import com.liuzhihang.doc.view.constant.ValidationConstant;
 import lombok.Data;
+import lombok.ToString;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
 import java.util.HashSet;
+import java.util.Objects;
 import java.util.Set;
 
 /**
@@ -28,6 +33,12 @@ import java.util.Set;
 @State(name = "DocViewSettingsComponent", storages = {@Storage("DocViewSettings.xml")})
 public class Settings implements PersistentStateComponent<Settings> {
 
+    /**
+     * 影响接口识别和参数解析的配置修改后递增, 作为缓存的依赖
+     */
+    @ToString.Exclude
+    private final transient SimpleModificationTracker modificationTracker = new SimpleModificationTracker();
+
     /**
      * DocView 的 注释 tag 统一使用 DocView 当做前缀, 防止和用户自身的注释 tag 冲突
      */
@@ -218,6 +229,11 @@ public class Settings implements PersistentStateComponent<Settings> {
      */
     private Boolean separateParam = false;
 
+    /**
+     * 使用默认模版时由内置模版直接生成, 不经过 Velocity
+     */
+    private Boolean builtInTemplate = false;
+
 
     public static Settings getInstance(@NotNull Project project) {
         return project.getService(Settings.class);
@@ -233,6 +249,63 @@ public class Settings implements PersistentStateComponent<Settings> {
     @Override
     public void loadState(@NotNull Settings state) {
         XmlSerializerUtil.copyBean(state, this);
+        modificationTracker.incModificationCount();
+    }
+
+    /**
+     * 接口识别和参数解析结果的缓存依赖
+     *
+     * @return 相关配置修改后计数会增加
+     */
+    @Transient
+    public ModificationTracker getModificationTracker() {
+        return modificationTracker;
+    }
+
+    public void setLineMarker(Boolean lineMarker) {
+        this.lineMarker = changed(this.lineMarker, lineMarker);
+    }
+
+    public void setIncludeNormalInterface(Boolean includeNormalInterface) {
+        this.includeNormalInterface = changed(this.includeNormalInterface, includeNormalInterface);
+    }
+
+    public void setContainClassAnnotationName(Set<String> containClassAnnotationName) {
+        this.containClassAnnotationName = changed(this.containClassAnnotationName, containClassAnnotationName);
+    }
+
+    public void setContainMethodAnnotationName(Set<String> containMethodAnnotationName) {
+        this.containMethodAnnotationName = changed(this.containMethodAnnotationName, containMethodAnnotationName);
+    }
+
+    public void setExcludeParamTypes(Set<String> excludeParamTypes) {
+        this.excludeParamTypes = changed(this.excludeParamTypes, excludeParamTypes);
+    }
+
+    public void setExcludeFieldNames(Set<String> excludeFieldNames) {
+        this.excludeFieldNames = changed(this.excludeFieldNames, excludeFieldNames);
+    }
+
+    public void setExcludeParameterType(Set<String> excludeParameterType) {
+        this.excludeParameterType = changed(this.excludeParameterType, excludeParameterType);
+    }
+
+    public void setExcludeFieldAnnotation(Set<String> excludeFieldAnnotation) {
+        this.excludeFieldAnnotation = changed(this.excludeFieldAnnotation, excludeFieldAnnotation);
+    }
+
+    public void setExcludeClassPackage(Set<String> excludeClassPackage) {
+        this.excludeClassPackage = changed(this.excludeClassPackage, excludeClassPackage);
+    }
+
+    /**
+     * 值发生变化时递增 modificationTracker
+     */
+    private <T> T changed(T oldValue, T newValue) {
+        if (!Objects.equals(oldValue, newValue)) {
+            modificationTracker.incModificationCount();
+        }
+        return newValue;
     }
 
 
@@ -6,9 +6,12 @@ import com.intellij.openapi.components.Storage;
 import com.intellij.openapi.project.Project;
 import com.intellij.util.xmlb.XmlSerializerUtil;
 import com.liuzhihang.doc.view.DocViewBundle;
+import com.liuzhihang.doc.view.utils.VelocityUtils;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
+import java.util.Objects;
+
 /**
  * DocView 模版设置
  *
@@ -38,6 +41,7 @@ public class TemplateSettings implements PersistentStateComponent<TemplateSettin
     @Override
     public void loadState(@NotNull TemplateSettings state) {
         XmlSerializerUtil.copyBean(state, this);
+        VelocityUtils.clearTemplateCache();
     }
 
 
@@ -46,6 +50,9 @@ public class TemplateSettings implements PersistentStateComponent<TemplateSettin
     }
 
     public void setSpringTemplate(String springTemplate) {
+        if (!Objects.equals(this.springTemplate, springTemplate)) {
+            VelocityUtils.clearTemplateCache();
+        }
         this.springTemplate = springTemplate;
     }
 
@@ -54,6 +61,9 @@ public class TemplateSettings implements PersistentStateComponent<TemplateSettin
     }
 
     public void setDubboTemplate(String dubboTemplate) {
+        if (!Objects.equals(this.dubboTemplate, dubboTemplate)) {
+            VelocityUtils.clearTemplateCache();
+        }
         this.dubboTemplate = dubboTemplate;
     }
 }
@@ -32,6 +32,16 @@ public class WindowSettings implements PersistentStateComponent<WindowSettings>
      */
     private boolean includeInterface = false;
 
+    /**
+     * 只读取当前分支变更的文件
+     */
+    private boolean changedScope = false;
+
+    /**
+     * 对比的基准版本, 例如 origin/master, 为空时只读取本地未提交的变更
+     */
+    private String baseRevision = "";
+
 
     public static WindowSettings getInstance(@NotNull Project project) {
         return project.getService(WindowSettings.class);
@@ -15,4 +15,9 @@ public class JsonPropertyConstant {
      */
     public static final String JSON_PROPERTY = "com.fasterxml.jackson.annotation.JsonProperty";
 
+    /**
+     * 注解 @JsonValue 的全路径, 枚举序列化时使用该字段的值
+     */
+    public static final String JSON_VALUE = "com.fasterxml.jackson.annotation.JsonValue";
+
 }
@@ -2,29 +2,55 @@ package com.liuzhihang.doc.view.dto;
 
 
 import com.intellij.psi.PsiElement;
+import com.intellij.psi.SmartPointerManager;
+import com.intellij.psi.SmartPsiElementPointer;
+import com.intellij.util.containers.Interner;
 import lombok.Getter;
 import lombok.Setter;
 
-import java.util.LinkedList;
+import java.util.ArrayList;
 import java.util.List;
 
 /**
+ * 参数节点
+ * <p>
+ * 文档会被缓存, 节点需要尽量小: 布尔属性合并为一个 int, 名称、类型等字符串共用同一个实例,
+ * 子节点在构建完成后按实际数量收缩, psiElement 通过 SmartPsiElementPointer 持有, 不会让缓存的文档持有整个 PSI 树
+ *
  * @author liuzhihang
  * @date 2020/2/27 16:39
  */
-@Getter
-@Setter
 public class Body {
 
+    /**
+     * 名称、类型等在项目中大量重复, 弱引用共用同一个字符串
+     */
+    private static final Interner<String> INTERNER = Interner.createWeakInterner();
+
+    private static final int REQUIRED = 1;
+    private static final int REQUIRED_SET = 1 << 1;
+    private static final int COLLECTION = 1 << 2;
+    private static final int MAP = 1 << 3;
+    private static final int JSON = 1 << 4;
+    private static final int EXIST = 1 << 5;
+    private static final int ID = 1 << 6;
+    private static final int IGNORE_READ = 1 << 7;
+    private static final int IGNORE_WRITE = 1 << 8;
+    private static final int FILTERABLE = 1 << 9;
+    private static final int FILTERABLE_SET = 1 << 10;
+    private static final int UPDATEABLE = 1 << 11;
+    private static final int UPDATEABLE_SET = 1 << 12;
+
     /**
      * 参数的 psiElement
      */
-    private PsiElement psiElement;
+    private SmartPsiElementPointer<PsiElement> psiElement;
 
     /**
-     * 是否必须
+     * 布尔属性, 默认在数据库存在
      */
-    private Boolean required;
+    private int flags = EXIST;
+
     /**
      * 参数名
      */
@@ -32,6 +58,8 @@ public class Body {
     /**
      * 参数示例
      */
+    @Getter
+    @Setter
     private String example;
 
     /**
@@ -52,13 +80,17 @@ public class Body {
     /**
      * version
      */
-    private String version="无";
+    private String version = "无";
 
     /**
-     * 初始化时创建集合
+     * 构建完成后由 compact 收缩
      */
-    private List<Body> childList = new LinkedList<>();
+    @Getter
+    @Setter
+    private List<Body> childList = new ArrayList<>(0);
 
+    @Getter
+    @Setter
     private Body parent;
 
     /**
@@ -67,58 +99,208 @@ public class Body {
      */
     private String qualifiedNameForClassType;
 
+    /**
+     * 构建完成后调用, 子节点列表按实际数量收缩
+     *
+     * @return 当前节点
+     */
+    public Body compact() {
+        if (childList instanceof ArrayList<Body> arrayList) {
+            arrayList.trimToSize();
+        }
+        for (Body child : childList) {
+            child.compact();
+        }
+        return this;
+    }
+
+    /**
+     * @return psiElement, 已经失效时为 null
+     */
+    public PsiElement getPsiElement() {
+        return psiElement == null ? null : psiElement.getElement();
+    }
+
+    public void setPsiElement(PsiElement psiElement) {
+        this.psiElement = psiElement == null ? null : SmartPointerManager.createPointer(psiElement);
+    }
+
+    /**
+     * 是否必须
+     */
+    public Boolean getRequired() {
+        return getBoolean(REQUIRED_SET, REQUIRED);
+    }
+
+    public void setRequired(Boolean required) {
+        setBoolean(REQUIRED_SET, REQUIRED, required);
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public void setName(String name) {
+        this.name = intern(name);
+    }
+
+    public String getDesc() {
+        return desc;
+    }
+
+    public void setDesc(String desc) {
+        this.desc = intern(desc);
+    }
+
+    public String getType() {
+        return type;
+    }
+
+    public void setType(String type) {
+        this.type = intern(type);
+    }
+
+    public String getSince() {
+        return since;
+    }
+
+    public void setSince(String since) {
+        this.since = intern(since);
+    }
+
+    public String getVersion() {
+        return version;
+    }
+
+    public void setVersion(String version) {
+        this.version = intern(version);
+    }
+
+    public String getQualifiedNameForClassType() {
+        return qualifiedNameForClassType;
+    }
+
+    public void setQualifiedNameForClassType(String qualifiedNameForClassType) {
+        this.qualifiedNameForClassType = intern(qualifiedNameForClassType);
+    }
+
     /**
      * 是否是集合
      */
-    private boolean isCollection = false;
+    public boolean isCollection() {
+        return (flags & COLLECTION) != 0;
+    }
+
+    public void setCollection(boolean collection) {
+        setFlag(COLLECTION, collection);
+    }
 
     /**
      * 是否是 map
      */
-    private boolean isMap = false;
+    public boolean isMap() {
+        return (flags & MAP) != 0;
+    }
 
+    public void setMap(boolean map) {
+        setFlag(MAP, map);
+    }
 
     /**
      * 是否是 json
      */
-    private boolean isJson=false ;
+    public boolean isJson() {
+        return (flags & JSON) != 0;
+    }
 
+    public void setJson(boolean json) {
+        setFlag(JSON, json);
+    }
 
     /**
      * 是否在数据库存在
      */
-    private boolean exist=true ;
+    public boolean isExist() {
+        return (flags & EXIST) != 0;
+    }
+
+    public void setExist(boolean exist) {
+        setFlag(EXIST, exist);
+    }
 
     /**
      * 是否是 id
      */
-    private boolean isId ;
+    public boolean isId() {
+        return (flags & ID) != 0;
+    }
 
+    public void setId(boolean id) {
+        setFlag(ID, id);
+    }
 
     /**
      * 是否忽略输入
      */
-    private boolean ifIgnoreRead=false ;
+    public boolean isIfIgnoreRead() {
+        return (flags & IGNORE_READ) != 0;
+    }
 
+    public void setIfIgnoreRead(boolean ifIgnoreRead) {
+        setFlag(IGNORE_READ, ifIgnoreRead);
+    }
 
     /**
      * 是否忽略输出
      */
-    private boolean ifIgnoreWrite=false ;
+    public boolean isIfIgnoreWrite() {
+        return (flags & IGNORE_WRITE) != 0;
+    }
 
+    public void setIfIgnoreWrite(boolean ifIgnoreWrite) {
+        setFlag(IGNORE_WRITE, ifIgnoreWrite);
+    }
 
     /**
      * 是否可作为筛选条件
      */
-    private Boolean filterable;
+    public Boolean getFilterable() {
+        return getBoolean(FILTERABLE_SET, FILTERABLE);
+    }
 
+    public void setFilterable(Boolean filterable) {
+        setBoolean(FILTERABLE_SET, FILTERABLE, filterable);
+    }
 
     /**
      * 是否可更新
      */
+    public Boolean getUpdateable() {
+        return getBoolean(UPDATEABLE_SET, UPDATEABLE);
+    }
 
-    private Boolean updateable;
+    public void setUpdateable(Boolean updateable) {
+        setBoolean(UPDATEABLE_SET, UPDATEABLE, updateable);
+    }
 
+    private void setFlag(int mask, boolean value) {
+        flags = value ? flags | mask : flags & ~mask;
+    }
 
+    /**
+     * 可以为 null 的属性, 用两位分别记录是否设置和值
+     */
+    private Boolean getBoolean(int setMask, int valueMask) {
+        return (flags & setMask) == 0 ? null : (flags & valueMask) != 0;
+    }
+
+    private void setBoolean(int setMask, int valueMask, Boolean value) {
+        setFlag(setMask, value != null);
+        setFlag(valueMask, Boolean.TRUE.equals(value));
+    }
+
+    private static String intern(String value) {
+        return value == null ? null : INTERNER.intern(value);
+    }
 
 }
@@ -0,0 +1,102 @@
+package com.liuzhihang.doc.view.dto;
+
+import lombok.Data;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 右侧目录树快照
+ * <p>
+ * 保存上一次扫描的模块、类、方法, 打开项目时先展示快照, 再在后台根据文件时间戳校准
+ *
+ * @author liuzhihang
+ * @date 2026/10/19
+ */
+@Data
+public class CatalogSnapshot {
+
+    /**
+     * 是否过期, 从磁盘恢复的快照在校准前都是过期的
+     */
+    private boolean stale;
+
+    /**
+     * 模块列表
+     */
+    private List<ModuleItem> moduleList = new ArrayList<>();
+
+    @Data
+    public static class ModuleItem {
+
+        /**
+         * 模块名
+         */
+        private String name;
+
+        private List<ClassItem> classList = new ArrayList<>();
+    }
+
+    @Data
+    public static class ClassItem {
+
+        /**
+         * 类全限定名, 用于重新定位 PsiClass
+         */
+        private String qualifiedName;
+
+        /**
+         * 文档标题
+         */
+        private String title;
+
+        private boolean interfaceType;
+
+        /**
+         * 所在文件
+         */
+        private String fileUrl;
+
+        /**
+         * 扫描时文件的时间戳
+         */
+        private long fileStamp;
+
+        private List<MethodItem> methodList = new ArrayList<>();
+    }
+
+    @Data
+    public static class MethodItem {
+
+        /**
+         * 文档名称
+         */
+        private String name;
+
+        /**
+         * 方法名
+         */
+        private String methodName;
+
+        /**
+         * 参数类型, 用于区分重载方法
+         */
+        private String signature;
+
+        /**
+         * 方法描述
+         */
+        private String desc;
+
+        /**
+         * 请求路径
+         */
+        private String path;
+
+        /**
+         * 请求方式
+         */
+        private String method;
+    }
+
+}
@@ -7,17 +7,27 @@ import com.liuzhihang.doc.view.config.TemplateSettings;
 import com.liuzhihang.doc.view.constant.FieldTypeConstant;
 import com.liuzhihang.doc.view.enums.FrameworkEnum;
 import com.liuzhihang.doc.view.enums.ParamTypeEnum;
+import com.liuzhihang.doc.view.utils.BuiltInTemplateRenderer;
+import com.liuzhihang.doc.view.utils.ParamTableRenderer;
 import com.liuzhihang.doc.view.utils.SpringPsiUtils;
 import com.liuzhihang.doc.view.utils.VelocityUtils;
+import lombok.AccessLevel;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.Setter;
+import lombok.ToString;
 import org.apache.commons.collections.CollectionUtils;
 import org.apache.commons.lang3.ObjectUtils;
 import org.apache.commons.lang3.StringUtils;
 import org.jetbrains.annotations.Contract;
 import org.jetbrains.annotations.NotNull;
 
+import java.io.IOException;
+import java.io.StringWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
 import java.util.ArrayList;
-import java.util.Arrays;
 import java.util.List;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
@@ -27,6 +37,8 @@ import java.util.stream.Collectors;
  * DocView 的模版 用来使用 Velocity 生成内容
  * <p>
  * Velocity 会根据 get 方法 获取值, 不提供 set 方法
+ * <p>
+ * 参数列表、Markdown 表格和示例在模版第一次读取时才生成, 模版中没有用到的部分不会生成
  *
  * @author liuzhihang
  * @date 2020/11/21 16:39
@@ -62,50 +74,90 @@ public class DocViewData {
     /**
      * headers
      */
-    private final List<DocViewParamData> requestHeaderDataList;
+    @Setter(AccessLevel.NONE)
+    private List<DocViewParamData> requestHeaderDataList;
 
-    private final String requestHeader;
+    @Setter(AccessLevel.NONE)
+    private String requestHeader;
 
     /**
      * 请求参数
      */
-    private final List<DocViewParamData> requestParamDataList;
+    @Setter(AccessLevel.NONE)
+    private List<DocViewParamData> requestParamDataList;
 
-    private final String requestParam;
+    @Setter(AccessLevel.NONE)
+    private String requestParam;
 
     /**
      * 请求body参数？
      */
-    private final List<DocViewParamData> requestBodyDataList;
+    @Setter(AccessLevel.NONE)
+    private List<DocViewParamData> requestBodyDataList;
 
     /**
      * 请求中 body 参数
      */
-    private final String requestBody;
+    @Setter(AccessLevel.NONE)
+    private String requestBody;
 
     /**
      * 请求示例
      */
-    private final String requestExample;
+    @Setter(AccessLevel.NONE)
+    private String requestExample;
 
     /**
      * 返回参数
      */
-    private final List<DocViewParamData> responseParamDataList;
-    private final String responseParam;
+    @Setter(AccessLevel.NONE)
+    private List<DocViewParamData> responseParamDataList;
+    @Setter(AccessLevel.NONE)
+    private String responseParam;
 
 
 
     /**
      * 返回示例
      */
-    private final String responseExample;
+    @Setter(AccessLevel.NONE)
+    private String responseExample;
 
     private final String type;
 
+    /**
+     * 生成上面各部分使用的原始文档, 不提供给模版
+     */
+    @Getter(AccessLevel.NONE)
+    @EqualsAndHashCode.Exclude
+    @ToString.Exclude
+    private final DocView docView;
+
+    /**
+     * body 参数和返回参数是否按实体切分成多个表格
+     */
+    @Getter(AccessLevel.NONE)
+    private final boolean separateParam;
+
+    /**
+     * 生成参数列表时使用的设置, 例如子参数的前缀
+     */
+    @Getter(AccessLevel.NONE)
+    @EqualsAndHashCode.Exclude
+    @ToString.Exclude
+    private final Settings settings;
+
     public DocViewData(DocView docView) {
+        this(docView, Settings.getInstance(docView.getPsiClass().getProject()));
+    }
 
-        Settings settings = Settings.getInstance(docView.getPsiClass().getProject());
+    /**
+     * 使用指定的设置, 不需要从 docView 的类获取项目
+     *
+     * @param docView  文档
+     * @param settings 设置
+     */
+    public DocViewData(DocView docView, Settings settings) {
 
         this.name = docView.getName();
         this.desc = docView.getDesc();
@@ -113,23 +165,81 @@ public class DocViewData {
         this.method = docView.getMethod();
         this.type = docView.getType().toString();
 
-        this.requestHeaderDataList = headerDataList(docView.getHeaderList());
-        this.requestHeader = headerMarkdown(requestHeaderDataList);
+        this.docView = docView;
+        this.separateParam = settings.getSeparateParam();
+        this.settings = settings;
+    }
+
+    public List<DocViewParamData> getRequestHeaderDataList() {
+        if (requestHeaderDataList == null) {
+            requestHeaderDataList = headerDataList(docView.getHeaderList());
+        }
+        return requestHeaderDataList;
+    }
+
+    public String getRequestHeader() {
+        if (requestHeader == null) {
+            requestHeader = headerMarkdown(getRequestHeaderDataList());
+        }
+        return requestHeader;
+    }
+
+    public List<DocViewParamData> getRequestParamDataList() {
+        if (requestParamDataList == null) {
+            requestParamDataList = paramDataList(docView.getReqParamList());
+        }
+        return requestParamDataList;
+    }
+
+    public String getRequestParam() {
+        if (requestParam == null) {
+            requestParam = paramMarkdown(getRequestParamDataList(), ParamTypeEnum.REQUEST_PARAM);
+        }
+        return requestParam;
+    }
+
+    public List<DocViewParamData> getRequestBodyDataList() {
+        if (requestBodyDataList == null) {
+            requestBodyDataList = buildBodyDataList(docView.getReqBody().getChildList(), settings);
+        }
+        return requestBodyDataList;
+    }
 
-        this.requestParamDataList = paramDataList(docView.getReqParamList());
-        this.requestParam = paramMarkdown(requestParamDataList, ParamTypeEnum.REQUEST_PARAM);
+    public String getRequestBody() {
+        if (requestBody == null) {
+            requestBody = separateParam ? separateParamMarkdown(getRequestBodyDataList(), "Request")
+                    : paramMarkdown(getRequestBodyDataList(), ParamTypeEnum.REQUEST_BODY);
+        }
+        return requestBody;
+    }
 
-        //请求参数
-        this.requestBodyDataList = buildBodyDataList(docView.getReqBody().getChildList());
-        this.requestBody = settings.getSeparateParam() ? separateParamMarkdown(requestBodyDataList,"Request") : paramMarkdown(requestBodyDataList, ParamTypeEnum.REQUEST_BODY);
+    public String getRequestExample() {
+        if (requestExample == null) {
+            requestExample = requestExample(docView);
+        }
+        return requestExample;
+    }
 
-        this.requestExample = requestExample(docView);
+    public List<DocViewParamData> getResponseParamDataList() {
+        if (responseParamDataList == null) {
+            responseParamDataList = buildBodyDataList(docView.getRespBody().getChildList(), settings);
+        }
+        return responseParamDataList;
+    }
 
-        //返回参数
-        this.responseParamDataList = buildBodyDataList(docView.getRespBody().getChildList());
-        this.responseParam = settings.getSeparateParam() ? separateParamMarkdown(responseParamDataList,"Response") : paramMarkdown(responseParamDataList,ParamTypeEnum.RESPONSE_PARAM);
-        this.responseExample = respBodyExample(docView.getRespExample());
+    public String getResponseParam() {
+        if (responseParam == null) {
+            responseParam = separateParam ? separateParamMarkdown(getResponseParamDataList(), "Response")
+                    : paramMarkdown(getResponseParamDataList(), ParamTypeEnum.RESPONSE_PARAM);
+        }
+        return responseParam;
+    }
 
+    public String getResponseExample() {
+        if (responseExample == null) {
+            responseExample = respBodyExample(docView.getRespExample());
+        }
+        return responseExample;
     }
 
     @NotNull
@@ -247,13 +357,45 @@ public class DocViewData {
     //生成markdown
     public static String markdownText(Project project, DocView docView) {
 
+        StringWriter writer = new StringWriter();
+        try {
+            markdownText(project, docView, writer);
+        } catch (IOException e) {
+            // StringWriter 不会抛出异常
+            throw new UncheckedIOException(e);
+        }
+        return writer.toString();
+    }
+
+    /**
+     * 生成 markdown 直接输出到 writer, 批量导出时不需要在内存中保留整个文档
+     *
+     * @param project 项目
+     * @param docView 文档
+     * @param writer  输出, 例如导出的文件
+     * @throws IOException 写入失败
+     */
+    public static void markdownText(Project project, DocView docView, Writer writer) throws IOException {
+
         DocViewData docViewData = new DocViewData(docView);
+        // 开启内置模版并且使用的是默认模版时, 不经过 Velocity
+        boolean builtIn = Settings.getInstance(project).getBuiltInTemplate();
 
         if (docView.getType() == FrameworkEnum.DUBBO) {
-            return VelocityUtils.convert(TemplateSettings.getInstance(project).getDubboTemplate(), docViewData);
+            String template = TemplateSettings.getInstance(project).getDubboTemplate();
+            if (builtIn && BuiltInTemplateRenderer.isDefaultDubboTemplate(template)) {
+                BuiltInTemplateRenderer.dubbo(docViewData, writer);
+            } else {
+                VelocityUtils.convert(template, docViewData, writer);
+            }
         } else {
             // 按照 Spring 模版
-            return VelocityUtils.convert(TemplateSettings.getInstance(project).getSpringTemplate(), docViewData);
+            String template = TemplateSettings.getInstance(project).getSpringTemplate();
+            if (builtIn && BuiltInTemplateRenderer.isDefaultSpringTemplate(template)) {
+                BuiltInTemplateRenderer.spring(docViewData, writer);
+            } else {
+                VelocityUtils.convert(template, docViewData, writer);
+            }
         }
     }
 
@@ -266,21 +408,13 @@ public class DocViewData {
     @NotNull
     public static String paramMarkdown(List<DocViewParamData> dataList,ParamTypeEnum paramType) {
 
-        if (CollectionUtils.isEmpty(dataList)) {
-            return "";
-        }
-
-
+        ParamTableRenderer renderer = new ParamTableRenderer(dataList);
 
+        //忽略写入的就不展示到请求参数
         if(paramType.equals(ParamTypeEnum.REQUEST_PARAM) || paramType.equals(ParamTypeEnum.REQUEST_BODY)) {
-
-            return "|参数名|类型|必选|可筛选|可更新|描述|版本|\n"
-                    + "|:-----|:-----|:-----|:-----|:-----|:-----|:-----|\n"
-                    + paramMarkdownContent(dataList, paramType);
+            return renderer.table(ParamTableRenderer.REQUEST_COLUMNS, DocViewParamData::isIfIgnoreWrite);
         }else  {
-            return "|参数名|类型|必选|描述|版本|\n"
-                    + "|:-----|:-----|:-----|:-----|:-----|\n"
-                    + paramMarkdownContent(dataList, paramType);
+            return renderer.table(ParamTableRenderer.RESPONSE_COLUMNS, data -> false);
         }
     }
 
@@ -289,171 +423,19 @@ public class DocViewData {
      */
     private static String separateParamMarkdown(List<DocViewParamData> dataList,String type) {
 
+        ParamTableRenderer renderer = new ParamTableRenderer(dataList);
+
         if(type.equals("Request")) {
-            if (CollectionUtils.isEmpty(dataList)) {
-                return "";
-            }
-            List<DocViewParamData> paramDataList = new ArrayList<>();
-
-            StringBuilder builder = new StringBuilder();
-            builder.append("|参数名|类型|必选|可筛选|可更新|描述|版本|\n")
-                    .append("|:-----|:-----|:-----|:-----|:-----|:-----|:-----|\n");
-            for (DocViewParamData data : dataList) {
-                if (data.isIfIgnoreRead()) {
-                    continue;
-                }
-                builder.append("|").append(data.getName())
-                        .append("|").append(data.getType())
-                        .append("|").append(data.getRequired() ? "是" : "否")
-                        .append("|").append(data.getFilterable() ? "是" : "否")
-                        .append("|").append(data.getUpdateable() ? "是" : "否")
-                        .append("|").append(data.getDesc())
-                        .append("|").append(Arrays.stream(new String[]{data.getSince(), data.getVersion()}).filter(StringUtils::isNotBlank).collect(Collectors.joining("-")))
-                        .append("|").append("\n");
-                if (CollectionUtils.isNotEmpty(data.getChildList())) {
-                    paramDataList.add(data);
-                }
-            }
-            builder.append(separateSubParamMarkdown(paramDataList,type));
-            return builder.toString();
+            return renderer.separateTables(ParamTableRenderer.SEPARATE_REQUEST_COLUMNS, DocViewParamData::isIfIgnoreRead);
         }else {
-            if (CollectionUtils.isEmpty(dataList)) {
-                return "";
-            }
-            List<DocViewParamData> paramDataList = new ArrayList<>();
-
-            StringBuilder builder = new StringBuilder();
-            builder.append("|参数名|类型|描述|版本|\n")
-                    .append("|:-----|:-----|:-----|:-----|\n");
-            for (DocViewParamData data : dataList) {
-                if (data.isIfIgnoreRead()) {
-                    continue;
-                }
-                builder.append("|").append(data.getName())
-                        .append("|").append(data.getType())
-
-                        .append("|").append(data.getDesc())
-                        .append("|").append(Arrays.stream(new String[]{data.getSince(), data.getVersion()}).filter(StringUtils::isNotBlank).collect(Collectors.joining("-")))
-                        .append("|").append("\n");
-                if (CollectionUtils.isNotEmpty(data.getChildList())) {
-                    paramDataList.add(data);
-                }
-            }
-            builder.append(separateSubParamMarkdown(paramDataList,type));
-            return builder.toString();
-        }
-    }
-
-    /**
-     * 构造子的参数 Markdown 实体
-     */
-    private static String separateSubParamMarkdown(List<DocViewParamData> dataList,String type) {
-        if (CollectionUtils.isEmpty(dataList)) {
-            return "";
-        }
-
-        StringBuilder builder = new StringBuilder();
-        for (DocViewParamData data : dataList) {
-            List<DocViewParamData> childList = data.getChildList();
-
-            if (CollectionUtils.isNotEmpty(childList)) {
-                if (childList.size() == 1) {
-                    DocViewParamData docViewParamData = childList.get(0);
-                    if (docViewParamData.isCollection()) {
-                        builder.append("\n- ").append(docViewParamData.getType()).append(" ").append(docViewParamData.getName()).append("\n\n");
-                        builder.append(separateParamMarkdown(docViewParamData.getChildList(),type));
-                        continue;
-                    }
-                }
-                if (childList.size() == 2) {
-                    DocViewParamData docViewParamData = childList.get(1);
-                    if (docViewParamData.isMap()) {
-                        builder.append("\n- ").append(docViewParamData.getType()).append(" ").append(docViewParamData.getName()).append("\n\n");
-                        builder.append(separateParamMarkdown(docViewParamData.getChildList(),type));
-                        continue;
-                    }
-                }
-            }
-
-
-            builder.append("\n- ").append(data.getType()).append(" ").append(data.getName()).append("\n\n");
-            builder.append(separateParamMarkdown(data.getChildList(),type));
-        }
-
-        return builder.toString();
-    }
-
-
-    /**
-     * 表格内数据
-     */
-    public static StringBuilder paramMarkdownContent(List<DocViewParamData> dataList,ParamTypeEnum paramType) {
-
-        StringBuilder builder = new StringBuilder();
-
-
-        //请求参数
-        if(paramType.equals(ParamTypeEnum.REQUEST_PARAM) || paramType.equals(ParamTypeEnum.REQUEST_BODY)) {
-            for (DocViewParamData data : dataList) {
-                //忽略写入的花就不展示到请求param
-                boolean ifIgnoreWrite = data.isIfIgnoreWrite();
-                if(ifIgnoreWrite){
-                    continue;
-                }
-                builder.append("|").append(data.getPrefixSymbol1()).append(data.getPrefixSymbol2()).append(data.getName())
-                        .append("|").append(data.getType())
-                        .append("|").append(data.getRequired() ? "是" : "否")
-                        .append("|").append(data.getFilterable() ? "是" : "否")
-                        .append("|").append(data.getUpdateable() ? "是" : "否")
-                        .append("|").append(data.getDesc())
-                        .append("|").append(Arrays.stream(new String[]{data.getSince(), data.getVersion()}).filter(StringUtils::isNotBlank).collect(Collectors.joining("-")))
-                        .append("|").append("\n");
-                if (CollectionUtils.isNotEmpty(data.getChildList())) {
-                    builder.append(paramMarkdownContent(data.getChildList(),paramType));
-                }
-            }
-        }else{
-
-            //返回参数
-            for (DocViewParamData data : dataList) {
-                builder.append("|").append(data.getPrefixSymbol1()).append(data.getPrefixSymbol2()).append(data.getName())
-                        .append("|").append(data.getType())
-                        .append("|").append(data.getRequired() ? "是" : "否")
-                        .append("|").append(data.getDesc())
-                        .append("|").append(Arrays.stream(new String[]{data.getSince(), data.getVersion()}).filter(StringUtils::isNotBlank).collect(Collectors.joining("-")))
-                        .append("|").append("\n");
-                if (CollectionUtils.isNotEmpty(data.getChildList())) {
-                    builder.append(paramMarkdownContent(data.getChildList(),paramType));
-                }
-            }
-
+            return renderer.separateTables(ParamTableRenderer.SEPARATE_RESPONSE_COLUMNS, DocViewParamData::isIfIgnoreRead);
         }
-
-        return builder;
     }
 
     //头
     @NotNull
     public static String headerMarkdown(List<DocViewParamData> dataList) {
-
-        if (CollectionUtils.isEmpty(dataList)) {
-            return "";
-        }
-
-        StringBuilder builder = new StringBuilder();
-
-        for (DocViewParamData data : dataList) {
-            builder.append("|").append(data.getName())
-                    .append("|").append(data.getExample())
-                    .append("|").append(data.getRequired() ? "是" : "否")
-                    .append("|").append(data.getDesc())
-                    .append("|").append(Arrays.stream(new String[]{data.getSince(), data.getVersion()}).filter(StringUtils::isNotBlank).collect(Collectors.joining("-")))
-                    .append("|").append("\n");
-        }
-
-        return "|参数名|参数值|必填|描述|版本|\n"
-                + "|:-----|:-----|:-----|:-----|:-----|\n"
-                + builder;
+        return new ParamTableRenderer(dataList).table(ParamTableRenderer.HEADER_COLUMNS, data -> false);
     }
 
     private List<DocViewParamData> headerDataList(List<Header> headerList) {
@@ -514,17 +496,24 @@ public class DocViewData {
     /**
      * 根据 bodyList 构建参数集合
      *
+     * @param project  子参数的前缀符号从当前项目的配置中获取
      * @param bodyList
      * @return
      */
     @NotNull
-    public static List<DocViewParamData> buildBodyDataList(List<Body> bodyList) {
+    public static List<DocViewParamData> buildBodyDataList(@NotNull Project project, List<Body> bodyList) {
+
+        return buildBodyDataList(bodyList, Settings.getInstance(project));
+    }
+
+    @NotNull
+    private static List<DocViewParamData> buildBodyDataList(List<Body> bodyList, @NotNull Settings settings) {
 
         if (CollectionUtils.isEmpty(bodyList)) {
             return new ArrayList<>();
         }
 
-        return buildBodyDataList(bodyList, "", "");
+        return buildBodyDataList(bodyList, "", "", settings);
     }
 
     /**
@@ -534,9 +523,10 @@ public class DocViewData {
      * @param bodyList
      * @param prefixSymbol1,
      * @param prefixSymbol2
+     * @param settings 由调用方传入, 子参数的前缀符号从中获取
      */
     @NotNull
-    private static List<DocViewParamData> buildBodyDataList(@NotNull List<Body> bodyList, String prefixSymbol1, String prefixSymbol2) {
+    private static List<DocViewParamData> buildBodyDataList(@NotNull List<Body> bodyList, String prefixSymbol1, String prefixSymbol2, @NotNull Settings settings) {
 
         List<DocViewParamData> dataList = new ArrayList<>();
 
@@ -575,11 +565,8 @@ public class DocViewData {
             data.setMap(body.isMap());
 
             if (CollectionUtils.isNotEmpty(body.getChildList())) {
-
-                Settings settings = Settings.getInstance(body.getPsiElement().getProject());
-
                 data.setChildList(
-                        buildBodyDataList(body.getChildList(), settings.getPrefixSymbol1(), prefixSymbol2 + settings.getPrefixSymbol2()));
+                        buildBodyDataList(body.getChildList(), settings.getPrefixSymbol1(), prefixSymbol2 + settings.getPrefixSymbol2(), settings));
             }
             dataList.add(data);
         }
@@ -0,0 +1,175 @@
+package com.liuzhihang.doc.view.dto;
+
+import lombok.Getter;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * 接口检索表, 由目录快照构造
+ * <p>
+ * 将请求方式、路径、文档名称、类标题拼接为检索文本, 以三个字符为一组散列后建立倒排索引,
+ * 查询时先按三元组取交集, 再用 contains 校验, 整个过程不解析 PSI
+ *
+ * @author liuzhihang
+ * @date 2026/10/19
+ */
+public class EndpointIndex {
+
+    /**
+     * 三元组散列到固定数量的桶中, 冲突只会多出候选, 最终由 contains 校验
+     */
+    private static final int BUCKET_BITS = 16;
+    private static final int BUCKET_MASK = (1 << BUCKET_BITS) - 1;
+
+    @Getter
+    private final List<Endpoint> endpointList = new ArrayList<>();
+
+    /**
+     * 检索文本, 与 endpointList 下标一一对应
+     */
+    private final List<String> textList = new ArrayList<>();
+
+    /**
+     * 桶 i 中的接口下标为 postings[offsets[i], offsets[i + 1]), 下标升序
+     */
+    private final int[] offsets = new int[(1 << BUCKET_BITS) + 1];
+    private final int[] postings;
+
+    public EndpointIndex(@NotNull CatalogSnapshot snapshot) {
+
+        int trigramCount = 0;
+
+        for (CatalogSnapshot.ModuleItem moduleItem : snapshot.getModuleList()) {
+            for (CatalogSnapshot.ClassItem classItem : moduleItem.getClassList()) {
+                for (CatalogSnapshot.MethodItem methodItem : classItem.getMethodList()) {
+
+                    String text = (methodItem.getMethod() + " " + methodItem.getPath() + " "
+                            + methodItem.getName() + " " + classItem.getTitle()).toLowerCase(Locale.ROOT);
+
+                    endpointList.add(new Endpoint(moduleItem.getName(), classItem, methodItem));
+                    textList.add(text);
+                    trigramCount += Math.max(0, text.length() - 2);
+                }
+            }
+        }
+
+        // 高 32 位为桶, 低 32 位为接口下标, 排序后即按桶分组且下标升序
+        long[] pairs = new long[trigramCount];
+        int size = 0;
+        for (int id = 0; id < textList.size(); id++) {
+            String text = textList.get(id);
+            for (int i = 0; i + 3 <= text.length(); i++) {
+                pairs[size++] = ((long) bucket(text, i) << 32) | id;
+            }
+        }
+        Arrays.sort(pairs, 0, size);
+
+        int[] ids = new int[size];
+        int count = 0;
+        for (int i = 0; i < size; i++) {
+            if (i > 0 && pairs[i] == pairs[i - 1]) {
+                continue;
+            }
+            offsets[(int) (pairs[i] >>> 32) + 1]++;
+            ids[count++] = (int) pairs[i];
+        }
+        for (int i = 1; i < offsets.length; i++) {
+            offsets[i] += offsets[i - 1];
+        }
+        postings = Arrays.copyOf(ids, count);
+    }
+
+    /**
+     * 检索接口, 多个关键字以空格分隔, 需要全部匹配
+     *
+     * @param pattern 关键字, 例如 "post /user" 或 "用户"
+     * @param limit   最大返回数量
+     * @return 匹配的接口
+     */
+    @NotNull
+    public List<Endpoint> search(@NotNull String pattern, int limit) {
+
+        String[] tokens = pattern.trim().toLowerCase(Locale.ROOT).split("\\s+");
+        List<Endpoint> result = new ArrayList<>();
+
+        if (tokens.length == 0 || tokens[0].isEmpty()) {
+            return result;
+        }
+
+        int[] candidates = null;
+        for (String token : tokens) {
+            for (int i = 0; i + 3 <= token.length(); i++) {
+                int bucket = bucket(token, i);
+                candidates = candidates == null
+                        ? Arrays.copyOfRange(postings, offsets[bucket], offsets[bucket + 1])
+                        : intersect(candidates, offsets[bucket], offsets[bucket + 1]);
+                if (candidates.length == 0) {
+                    return result;
+                }
+            }
+        }
+
+        // 关键字都不足三个字符时逐个校验
+        int size = candidates == null ? textList.size() : candidates.length;
+        for (int i = 0; i < size && result.size() < limit; i++) {
+            int id = candidates == null ? i : candidates[i];
+            if (containsAll(textList.get(id), tokens)) {
+                result.add(endpointList.get(id));
+            }
+        }
+        return result;
+    }
+
+    private static boolean containsAll(String text, String[] tokens) {
+        for (String token : tokens) {
+            if (!text.contains(token)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private int[] intersect(int[] candidates, int from, int to) {
+        int[] result = new int[Math.min(candidates.length, to - from)];
+        int i = 0, j = from, k = 0;
+        while (i < candidates.length && j < to) {
+            if (candidates[i] == postings[j]) {
+                result[k++] = candidates[i];
+                i++;
+                j++;
+            } else if (candidates[i] < postings[j]) {
+                i++;
+            } else {
+                j++;
+            }
+        }
+        return k == result.length ? result : Arrays.copyOf(result, k);
+    }
+
+    private static int bucket(String text, int index) {
+        int hash = (text.charAt(index) * 31 + text.charAt(index + 1)) * 31 + text.charAt(index + 2);
+        return (hash ^ (hash >>> BUCKET_BITS)) & BUCKET_MASK;
+    }
+
+    /**
+     * 一个接口
+     */
+    @Getter
+    public static class Endpoint {
+
+        private final String moduleName;
+        private final CatalogSnapshot.ClassItem classItem;
+        private final CatalogSnapshot.MethodItem methodItem;
+
+        public Endpoint(String moduleName, CatalogSnapshot.ClassItem classItem, CatalogSnapshot.MethodItem methodItem) {
+            this.moduleName = moduleName;
+            this.classItem = classItem;
+            this.methodItem = methodItem;
+        }
+    }
+
+}
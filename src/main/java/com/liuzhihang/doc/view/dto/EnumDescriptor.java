@@ -0,0 +1,108 @@
+package com.liuzhihang.doc.view.dto;
+
+import lombok.Getter;
+import org.apache.commons.lang3.StringUtils;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * 枚举的可选值, 每个枚举类只解析一次
+ * <p>
+ * 字段描述、示例 json 和 YApi 的 enum 列表都从这里读取
+ *
+ * @author liuzhihang
+ * @date 2026/10/19
+ */
+@Getter
+public class EnumDescriptor {
+
+    /**
+     * 枚举常量, 按声明顺序
+     */
+    private final List<Constant> constantList;
+
+    /**
+     * 可选值说明, 例如 1:待支付, 2:已支付
+     */
+    private final String description;
+
+    public EnumDescriptor(@NotNull List<Constant> constantList) {
+        this.constantList = List.copyOf(constantList);
+        this.description = constantList.stream().map(Constant::describe).collect(Collectors.joining(", "));
+    }
+
+    /**
+     * json 中可以传入的值
+     *
+     * @return 按声明顺序
+     */
+    @NotNull
+    public List<Object> values() {
+        List<Object> valueList = new ArrayList<>(constantList.size());
+        for (Constant constant : constantList) {
+            valueList.add(constant.getValue());
+        }
+        return valueList;
+    }
+
+    /**
+     * 示例值, 使用第一个常量
+     *
+     * @return 没有常量时为 ""
+     */
+    @NotNull
+    public Object example() {
+        return constantList.isEmpty() ? "" : constantList.get(0).getValue();
+    }
+
+    /**
+     * 在字段描述后面追加可选值
+     *
+     * @param desc 字段描述
+     * @return 追加后的描述
+     */
+    public String describe(String desc) {
+        if (description.isEmpty()) {
+            return desc;
+        }
+        return StringUtils.isBlank(desc) ? description : desc + " (" + description + ")";
+    }
+
+    /**
+     * 一个枚举常量
+     */
+    @Getter
+    public static class Constant {
+
+        private final String name;
+
+        /**
+         * code 字段的值, 例如 PAID(1, "已支付") 中的 1, 没有 code 字段时为 null
+         */
+        private final Object code;
+
+        /**
+         * json 中的值, code 字段使用 @JsonValue 时为 code, 否则为常量名
+         */
+        private final Object value;
+
+        private final String desc;
+
+        public Constant(String name, @Nullable Object code, Object value, String desc) {
+            this.name = name;
+            this.code = code;
+            this.value = value;
+            this.desc = desc;
+        }
+
+        private String describe() {
+            String key = code == null ? name : String.valueOf(code);
+            return StringUtils.isBlank(desc) ? key : key + ":" + desc;
+        }
+    }
+
+}
@@ -0,0 +1,39 @@
+package com.liuzhihang.doc.view.dto;
+
+import lombok.Data;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 类或方法上 xxxMapping 注解计算后的属性值
+ * <p>
+ * 属性中的常量表达式已经计算, 例如 @RequestMapping(ApiPaths.USER + "/list")
+ *
+ * @author liuzhihang
+ * @date 2026/10/19
+ */
+@Data
+public class MappingInfo {
+
+    /**
+     * 路径, 开头为 / 结束没有 /, 没有时为 ""
+     */
+    private String path = "";
+
+    /**
+     * 请求方式, 大写, 类上没有请求方式时为 ""
+     */
+    private String method = "";
+
+    /**
+     * 请求的 Content-Type, 例如 application/xml
+     */
+    private List<String> consumes = new ArrayList<>();
+
+    /**
+     * 请求头条件, 例如 X-Version=1
+     */
+    private List<String> headers = new ArrayList<>();
+
+}
@@ -0,0 +1,132 @@
+package com.liuzhihang.doc.view.dto;
+
+import com.intellij.psi.PsiClass;
+import com.intellij.psi.PsiParameter;
+import com.intellij.psi.PsiType;
+import lombok.Getter;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * 方法参数分类, 每个方法只遍历一次参数列表
+ * <p>
+ * header、body、form 参数, 以及 Dubbo 参数的构造都从这里读取, 不再各自判断排除规则和注解
+ *
+ * @author liuzhihang
+ * @date 2026/10/19
+ */
+@Getter
+public class ParameterClassification {
+
+    /**
+     * 所有参数, 按声明顺序
+     */
+    private final List<Item> itemList = new ArrayList<>();
+
+    /**
+     * 指定类型的参数
+     *
+     * @param kinds 参数类型
+     * @return 参数, 按声明顺序
+     */
+    @NotNull
+    public List<Item> items(@NotNull Kind... kinds) {
+        List<Kind> kindList = List.of(kinds);
+        return itemList.stream().filter(item -> kindList.contains(item.getKind())).collect(Collectors.toList());
+    }
+
+    /**
+     * 需要生成文档的参数, 即排除的参数以外的所有参数
+     *
+     * @return 参数, 按声明顺序
+     */
+    @NotNull
+    public List<Item> documented() {
+        return itemList.stream().filter(item -> item.getKind() != Kind.IGNORED).collect(Collectors.toList());
+    }
+
+    /**
+     * 第一个指定类型的参数
+     *
+     * @param kind 参数类型
+     * @return 参数, 没有时为 null
+     */
+    @Nullable
+    public Item first(@NotNull Kind kind) {
+        return itemList.stream().filter(item -> item.getKind() == kind).findFirst().orElse(null);
+    }
+
+    public enum Kind {
+
+        /**
+         * @RequestHeader
+         */
+        HEADER,
+
+        /**
+         * @PathVariable
+         */
+        PATH,
+
+        /**
+         * url 后面拼接的参数
+         */
+        QUERY,
+
+        /**
+         * 文件等 multipart 参数
+         */
+        FORM,
+
+        /**
+         * @RequestBody
+         */
+        BODY,
+
+        /**
+         * 设置中排除的参数
+         */
+        IGNORED
+    }
+
+    /**
+     * 一个参数
+     */
+    @Getter
+    public static class Item {
+
+        private final PsiParameter parameter;
+
+        private final Kind kind;
+
+        private final PsiType type;
+
+        /**
+         * 参数类型对应的类, 基本类型等为 null
+         */
+        private final PsiClass psiClass;
+
+        /**
+         * 基本类型或者设置中的常用类型, 例如 String、Long
+         */
+        private final boolean simple;
+
+        public Item(PsiParameter parameter, Kind kind, PsiType type, PsiClass psiClass, boolean simple) {
+            this.parameter = parameter;
+            this.kind = kind;
+            this.type = type;
+            this.psiClass = psiClass;
+            this.simple = simple;
+        }
+
+        @NotNull
+        public String getName() {
+            return parameter.getName();
+        }
+    }
+
+}
@@ -2,27 +2,39 @@ package com.liuzhihang.doc.view.provider;
 
 import com.intellij.codeInsight.daemon.LineMarkerInfo;
 import com.intellij.codeInsight.daemon.LineMarkerProvider;
+import com.intellij.lang.java.JavaLanguage;
+import com.intellij.lang.xml.XMLLanguage;
 import com.intellij.openapi.editor.markup.GutterIconRenderer;
-import com.intellij.openapi.project.Project;
+import com.intellij.openapi.progress.ProgressManager;
 import com.intellij.psi.PsiClass;
 import com.intellij.psi.PsiElement;
+import com.intellij.psi.PsiFile;
 import com.intellij.psi.PsiIdentifier;
 import com.intellij.psi.PsiMethod;
+import com.intellij.psi.util.CachedValueProvider;
+import com.intellij.psi.util.CachedValuesManager;
+import com.intellij.psi.util.PsiModificationTracker;
 import com.intellij.psi.util.PsiTreeUtil;
 import com.liuzhihang.doc.view.config.Settings;
-import com.liuzhihang.doc.view.service.DocViewService;
 import com.liuzhihang.doc.view.ui.PreviewForm;
 import com.liuzhihang.doc.view.utils.DocViewUtils;
+import com.liuzhihang.doc.view.utils.SpringPsiUtils;
 import icons.DocViewIcons;
 import org.jetbrains.annotations.NotNull;
-import org.jetbrains.annotations.Nullable;
 
 import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 
 /**
  * 文档地址:
  * <p>
  * https://plugins.jetbrains.com/docs/intellij/line-marker-provider.html#register-the-line-marker-provider
+ * <p>
+ * 判断类和方法是否可以生成文档需要解析注解, 放在 collectSlowLineMarkers 中执行,
+ * 并且按文件缓存判断结果, 文件、继承的类和 xml 配置以及相关设置未修改时重复高亮只需要查表
  *
  * @author liuzhihang
  * @date 2021/10/21 16:03
@@ -32,52 +44,99 @@ public class DocViewLineMarkerProvider implements LineMarkerProvider {
 
     @Override
     public LineMarkerInfo<PsiElement> getLineMarkerInfo(@NotNull PsiElement element) {
+        return null;
+    }
 
+    @Override
+    public void collectSlowLineMarkers(@NotNull List<? extends PsiElement> elements,
+                                       @NotNull Collection<? super LineMarkerInfo<?>> result) {
 
-        Project project = element.getProject();
-
-        Settings settings = Settings.getInstance(project);
+        if (elements.isEmpty() || !Settings.getInstance(elements.get(0).getProject()).getLineMarker()) {
+            return;
+        }
 
-        if (!settings.getLineMarker()) {
-            return null;
+        PsiFile psiFile = elements.get(0).getContainingFile();
+        if (psiFile == null) {
+            return;
         }
 
-        PsiElement parent = element.getParent();
+        Map<Integer, Boolean> markerMap = classify(psiFile);
+        if (markerMap.isEmpty()) {
+            return;
+        }
 
-        if (element instanceof PsiIdentifier) {
+        for (PsiElement element : elements) {
 
-            if (parent instanceof PsiClass) {
+            if (!(element instanceof PsiIdentifier)) {
+                continue;
+            }
 
-                return createClassLineMarker(element);
+            Boolean isClass = markerMap.get(element.getTextRange().getStartOffset());
+            if (isClass == null) {
+                continue;
             }
 
-            if (parent instanceof PsiMethod) {
-                return createMethodLineMarker(element);
+            PsiElement parent = element.getParent();
+
+            if (isClass && parent instanceof PsiClass) {
+                result.add(createClassLineMarker(element, (PsiClass) parent));
+            } else if (!isClass && parent instanceof PsiMethod) {
+                result.add(createMethodLineMarker(element, (PsiMethod) parent));
             }
         }
+    }
 
-        return null;
+    /**
+     * 文件中需要展示图标的标识符
+     *
+     * @param psiFile 文件
+     * @return 标识符起始位置 -> 是否为类
+     */
+    @NotNull
+    private static Map<Integer, Boolean> classify(@NotNull PsiFile psiFile) {
+        PsiModificationTracker tracker = PsiModificationTracker.getInstance(psiFile.getProject());
+        // 继承的接口、Dubbo xml 配置在其他文件中, 只依赖当前文件会漏掉这些修改
+        return CachedValuesManager.getCachedValue(psiFile, () -> CachedValueProvider.Result.create(doClassify(psiFile),
+                psiFile,
+                tracker.forLanguage(JavaLanguage.INSTANCE),
+                tracker.forLanguage(XMLLanguage.INSTANCE),
+                Settings.getInstance(psiFile.getProject()).getModificationTracker()));
     }
 
-    private LineMarkerInfo<PsiElement> createMethodLineMarker(PsiElement element) {
+    private static Map<Integer, Boolean> doClassify(PsiFile psiFile) {
 
-        Project project = element.getProject();
-        PsiMethod psiMethod = (PsiMethod) element.getParent();
-        PsiClass psiClass = PsiTreeUtil.getParentOfType(psiMethod, PsiClass.class);
+        Map<Integer, Boolean> markerMap = new HashMap<>();
 
-        if (psiClass == null) {
-            return null;
-        }
+        for (PsiClass psiClass : PsiTreeUtil.findChildrenOfType(psiFile, PsiClass.class)) {
+            ProgressManager.checkCanceled();
 
-        DocViewService docViewService = checkShowLineMarker(project, psiClass);
+            PsiIdentifier classIdentifier = psiClass.getNameIdentifier();
+            if (classIdentifier == null || !DocViewUtils.isDocViewClass(psiClass)) {
+                continue;
+            }
 
-        if (docViewService == null) {
-            return null;
-        }
+            boolean hasDocViewMethod = false;
+            for (PsiMethod psiMethod : psiClass.getMethods()) {
+                PsiIdentifier methodIdentifier = psiMethod.getNameIdentifier();
+                if (methodIdentifier != null && DocViewUtils.isDocViewMethod(psiMethod)) {
+                    markerMap.put(methodIdentifier.getTextRange().getStartOffset(), false);
+                    hasDocViewMethod = true;
+                }
+            }
 
-        if (!DocViewUtils.isDocViewMethod(psiMethod)) {
-            return null;
+            // 本类中没有时再检查继承的方法, Spring 类使用按类缓存的继承接口
+            if (hasDocViewMethod || (SpringPsiUtils.isSpringClass(psiClass)
+                    ? !SpringPsiUtils.endpointMethods(psiClass).isEmpty()
+                    : Arrays.stream(psiClass.getAllMethods()).anyMatch(DocViewUtils::isDocViewMethod))) {
+                markerMap.put(classIdentifier.getTextRange().getStartOffset(), true);
+            }
         }
+        return markerMap;
+    }
+
+    private LineMarkerInfo<PsiElement> createMethodLineMarker(PsiElement element, PsiMethod psiMethod) {
+
+        PsiClass psiClass = psiMethod.getContainingClass();
 
         return new LineMarkerInfo<>(element, element.getTextRange(),
                 DocViewIcons.DOC_VIEW,
@@ -87,39 +146,7 @@ public class DocViewLineMarkerProvider implements LineMarkerProvider {
                 () -> "Doc View");
     }
 
-
-    @Nullable
-    private DocViewService checkShowLineMarker(Project project, PsiClass psiClass) {
-
-        if (DocViewUtils.isDocViewClass(psiClass)) {
-            return DocViewService.getInstance(project, psiClass);
-        }
-
-        return null;
-
-    }
-
-    private LineMarkerInfo<PsiElement> createClassLineMarker(PsiElement element) {
-
-        Project project = element.getProject();
-        PsiClass psiClass = (PsiClass) element.getParent();
-
-        DocViewService docViewService = checkShowLineMarker(project, psiClass);
-
-        if (docViewService == null) {
-            return null;
-        }
-
-        PsiMethod[] methods = psiClass.getAllMethods();
-
-        if (methods.length == 0) {
-            return null;
-        }
-
-        long docViewMethodCount = Arrays.stream(methods).filter(DocViewUtils::isDocViewMethod).count();
-        if (docViewMethodCount == 0) {
-            return null;
-        }
+    private LineMarkerInfo<PsiElement> createClassLineMarker(PsiElement element, PsiClass psiClass) {
 
         return new LineMarkerInfo<>(element, element.getTextRange(),
                 DocViewIcons.DOC_VIEW,
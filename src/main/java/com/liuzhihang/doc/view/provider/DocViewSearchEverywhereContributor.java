@@ -0,0 +1,144 @@
+package com.liuzhihang.doc.view.provider;
+
+import com.intellij.icons.AllIcons;
+import com.intellij.ide.actions.searcheverywhere.SearchEverywhereContributor;
+import com.intellij.ide.actions.searcheverywhere.SearchEverywhereContributorFactory;
+import com.intellij.openapi.actionSystem.AnActionEvent;
+import com.intellij.openapi.actionSystem.CommonDataKeys;
+import com.intellij.openapi.fileEditor.OpenFileDescriptor;
+import com.intellij.openapi.progress.ProgressIndicator;
+import com.intellij.openapi.progress.util.ProgressIndicatorUtils;
+import com.intellij.openapi.project.DumbAware;
+import com.intellij.openapi.project.Project;
+import com.intellij.openapi.vfs.VirtualFile;
+import com.intellij.openapi.vfs.VirtualFileManager;
+import com.intellij.psi.PsiMethod;
+import com.intellij.ui.ColoredListCellRenderer;
+import com.intellij.ui.SimpleTextAttributes;
+import com.intellij.util.Processor;
+import com.liuzhihang.doc.view.dto.EndpointIndex;
+import com.liuzhihang.doc.view.service.CatalogService;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import javax.swing.*;
+
+/**
+ * Search Everywhere 中检索接口, 支持路径片段、请求方式、文档名称
+ * <p>
+ * 检索只使用目录快照构造的检索表, 选中后才定位到方法;
+ * 快照不存在或者 Java 文件修改后, 打开搜索时在后台增量扫描, 检索时等待扫描完成
+ *
+ * @author liuzhihang
+ * @date 2026/10/19
+ */
+public class DocViewSearchEverywhereContributor implements SearchEverywhereContributor<EndpointIndex.Endpoint>, DumbAware {
+
+    private static final int LIMIT = 200;
+
+    private final Project project;
+
+    public DocViewSearchEverywhereContributor(@NotNull Project project) {
+        this.project = project;
+        // 没有打开右侧目录时不会扫描, 打开搜索时提前开始
+        CatalogService.getInstance(project).refreshIfOutdated();
+    }
+
+    @Override
+    public @NotNull String getSearchProviderId() {
+        return DocViewSearchEverywhereContributor.class.getSimpleName();
+    }
+
+    @Override
+    public @NotNull String getGroupName() {
+        return "Doc View";
+    }
+
+    @Override
+    public int getSortWeight() {
+        return 1000;
+    }
+
+    @Override
+    public boolean showInFindResults() {
+        return false;
+    }
+
+    @Override
+    public boolean isShownInSeparateTab() {
+        return true;
+    }
+
+    @Override
+    public void fetchElements(@NotNull String pattern,
+                              @NotNull ProgressIndicator progressIndicator,
+                              @NotNull Processor<? super EndpointIndex.Endpoint> consumer) {
+
+        CatalogService catalogService = CatalogService.getInstance(project);
+        // 新增和删除的接口在扫描完成后才能检索到
+        ProgressIndicatorUtils.awaitWithCheckCanceled(catalogService.refreshIfOutdated());
+
+        EndpointIndex endpointIndex = catalogService.getEndpointIndex();
+
+        if (endpointIndex == null || pattern.isBlank()) {
+            return;
+        }
+
+        for (EndpointIndex.Endpoint endpoint : endpointIndex.search(pattern, LIMIT)) {
+            progressIndicator.checkCanceled();
+            if (!consumer.process(endpoint)) {
+                return;
+            }
+        }
+    }
+
+    @Override
+    public boolean processSelectedItem(@NotNull EndpointIndex.Endpoint selected, int modifiers, @NotNull String searchText) {
+
+        PsiMethod psiMethod = CatalogService.getInstance(project).findMethod(selected.getClassItem(), selected.getMethodItem());
+
+        if (psiMethod != null && psiMethod.canNavigate()) {
+            psiMethod.navigate(true);
+            return true;
+        }
+
+        // 正在建立索引时无法定位方法, 直接打开所在文件
+        VirtualFile file = VirtualFileManager.getInstance().findFileByUrl(selected.getClassItem().getFileUrl());
+        if (file != null) {
+            new OpenFileDescriptor(project, file).navigate(true);
+        }
+        return true;
+    }
+
+    @Override
+    public @NotNull ListCellRenderer<? super EndpointIndex.Endpoint> getElementsRenderer() {
+        return new ColoredListCellRenderer<>() {
+            @Override
+            protected void customizeCellRenderer(@NotNull JList<? extends EndpointIndex.Endpoint> list,
+                                                 EndpointIndex.Endpoint value,
+                                                 int index,
+                                                 boolean selected,
+                                                 boolean hasFocus) {
+                setIcon(AllIcons.Nodes.Method);
+                append(value.getMethodItem().getMethod() + " ", SimpleTextAttributes.REGULAR_BOLD_ATTRIBUTES);
+                append(value.getMethodItem().getPath());
+                append("  " + value.getMethodItem().getName() + " - " + value.getClassItem().getTitle(),
+                        SimpleTextAttributes.GRAYED_ATTRIBUTES);
+            }
+        };
+    }
+
+    @Override
+    public @Nullable Object getDataForItem(@NotNull EndpointIndex.Endpoint element, @NotNull String dataId) {
+        return null;
+    }
+
+    public static class Factory implements SearchEverywhereContributorFactory<EndpointIndex.Endpoint> {
+
+        @Override
+        public @NotNull SearchEverywhereContributor<EndpointIndex.Endpoint> createContributor(@NotNull AnActionEvent initEvent) {
+            return new DocViewSearchEverywhereContributor(initEvent.getRequiredData(CommonDataKeys.PROJECT));
+        }
+    }
+
+}
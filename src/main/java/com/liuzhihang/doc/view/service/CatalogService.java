@@ -0,0 +1,530 @@
+package com.liuzhihang.doc.view.service;
+
+import com.intellij.concurrency.JobLauncher;
+import com.intellij.lang.java.JavaLanguage;
+import com.intellij.openapi.application.ApplicationManager;
+import com.intellij.openapi.application.ReadAction;
+import com.intellij.openapi.fileEditor.FileDocumentManager;
+import com.intellij.openapi.module.Module;
+import com.intellij.openapi.module.ModuleManager;
+import com.intellij.openapi.module.ModuleUtilCore;
+import com.intellij.openapi.progress.ProcessCanceledException;
+import com.intellij.openapi.progress.ProgressIndicator;
+import com.intellij.openapi.progress.ProgressManager;
+import com.intellij.openapi.progress.Task;
+import com.intellij.openapi.project.DumbService;
+import com.intellij.openapi.project.Project;
+import com.intellij.openapi.vfs.VirtualFile;
+import com.intellij.psi.JavaPsiFacade;
+import com.intellij.psi.PsiClass;
+import com.intellij.psi.PsiFile;
+import com.intellij.psi.PsiMethod;
+import com.intellij.psi.search.GlobalSearchScope;
+import com.intellij.psi.search.searches.AllClassesSearch;
+import com.intellij.psi.util.PsiModificationTracker;
+import com.liuzhihang.doc.view.config.Settings;
+import com.liuzhihang.doc.view.config.WindowSettings;
+import com.liuzhihang.doc.view.dto.CatalogSnapshot;
+import com.liuzhihang.doc.view.dto.EndpointIndex;
+import com.liuzhihang.doc.view.exception.DocViewException;
+import com.liuzhihang.doc.view.utils.ChangedFilesUtils;
+import com.liuzhihang.doc.view.utils.CustomPsiUtils;
+import com.liuzhihang.doc.view.utils.DocViewUtils;
+import com.liuzhihang.doc.view.utils.DubboPsiUtils;
+import com.liuzhihang.doc.view.utils.FeignPsiUtil;
+import com.liuzhihang.doc.view.utils.SpringPsiUtils;
+import com.liuzhihang.doc.view.utils.StorageUtils;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+/**
+ * 目录树扫描服务
+ * <p>
+ * 扫描结果以快照的形式保存到磁盘, 打开项目时直接展示上一次的快照,
+ * 后台校准时只重新解析时间戳发生变化的文件
+ * <p>
+ * 快照和检索表始终包含项目中所有的接口, 只显示变更文件时只在目录树中过滤;
+ * 此时扫描只重新解析变更相关的类, 其他文件中的修改在关闭该选项后的下一次刷新中校准
+ *
+ * @author liuzhihang
+ * @date 2026/10/19
+ */
+public class CatalogService {
+
+    private final Project project;
+
+    private volatile CatalogSnapshot snapshot;
+
+    private volatile EndpointIndex endpointIndex;
+
+    /**
+     * 只显示变更文件时, 上一次扫描中有变更的类, 只保存在内存中
+     */
+    private volatile Set<String> changedClassNames;
+
+    /**
+     * 同一时间只有一次扫描, 目录树和 Search Everywhere 都可能触发扫描
+     */
+    private final ReentrantLock scanLock = new ReentrantLock();
+
+    /**
+     * 开始扫描时 Java 文件的修改计数, 不相等时快照已过期; 从磁盘读取的快照为 -1
+     */
+    private volatile long scanModificationCount = -1;
+
+    /**
+     * 正在进行的后台刷新
+     */
+    private final AtomicReference<CompletableFuture<Void>> refreshFuture = new AtomicReference<>();
+
+    public CatalogService(Project project) {
+        this.project = project;
+    }
+
+    public static CatalogService getInstance(@NotNull Project project) {
+        return project.getService(CatalogService.class);
+    }
+
+    /**
+     * 获取当前快照, 内存中没有时从磁盘读取, 磁盘上的快照标记为过期
+     *
+     * @return 快照, 从未扫描过时为 null
+     */
+    @Nullable
+    public CatalogSnapshot loadSnapshot() {
+        if (snapshot == null) {
+            CatalogSnapshot diskSnapshot = StorageUtils.readCatalogSnapshot(project);
+            if (diskSnapshot != null) {
+                diskSnapshot.setStale(true);
+                snapshot = diskSnapshot;
+                endpointIndex = null;
+            }
+        }
+        return snapshot;
+    }
+
+    /**
+     * 扫描项目并保存快照
+     * <p>
+     * 只显示变更文件并且已有快照时, 只重新解析变更文件中的类和接口参数、返回值引用了变更类的类, 其他的类直接复用快照
+     *
+     * @param indicator   进度
+     * @param incremental 是否增量, 增量时文件时间戳未变化的类直接复用上一次的结果
+     * @return 最新的快照, 包含所有的类
+     */
+    @NotNull
+    public CatalogSnapshot scan(@NotNull ProgressIndicator indicator, boolean incremental) {
+
+        try {
+            while (!scanLock.tryLock(50, TimeUnit.MILLISECONDS)) {
+                indicator.checkCanceled();
+            }
+        } catch (InterruptedException e) {
+            throw new ProcessCanceledException(e);
+        }
+
+        try {
+            return scanLocked(indicator, incremental);
+        } finally {
+            scanLock.unlock();
+        }
+    }
+
+    /**
+     * 快照是否过期: 从未扫描过、从磁盘读取, 或者扫描之后 Java 文件有修改
+     *
+     * @return true 过期
+     */
+    public boolean isOutdated() {
+        return snapshot == null || scanModificationCount != javaModificationCount();
+    }
+
+    /**
+     * 快照过期时在后台增量扫描, 正在扫描时返回正在进行的扫描
+     * <p>
+     * 用于没有打开右侧目录时的 Search Everywhere, 正在建立索引时不扫描
+     *
+     * @return 扫描完成后结束
+     */
+    @NotNull
+    public Future<Void> refreshIfOutdated() {
+
+        if (!isOutdated() || DumbService.isDumb(project)) {
+            return CompletableFuture.completedFuture(null);
+        }
+
+        CompletableFuture<Void> future = new CompletableFuture<>();
+        CompletableFuture<Void> running = refreshFuture.compareAndExchange(null, future);
+        if (running != null) {
+            return running;
+        }
+
+        ApplicationManager.getApplication().invokeLater(() -> ProgressManager.getInstance().run(
+                new Task.Backgroundable(project, "Doc View Searching") {
+                    @Override
+                    public void run(@NotNull ProgressIndicator indicator) {
+                        scan(indicator, true);
+                    }
+
+                    @Override
+                    public void onFinished() {
+                        refreshFuture.set(null);
+                        future.complete(null);
+                    }
+                }), project.getDisposed());
+        return future;
+    }
+
+    private long javaModificationCount() {
+        return PsiModificationTracker.getInstance(project).forLanguage(JavaLanguage.INSTANCE).getModificationCount();
+    }
+
+    private CatalogSnapshot scanLocked(@NotNull ProgressIndicator indicator, boolean incremental) {
+
+        long modificationCount = javaModificationCount();
+        boolean changedScope = WindowSettings.getInstance(project).isChangedScope();
+        CatalogSnapshot previous = incremental || changedScope ? loadSnapshot() : null;
+
+        // 只读取变更的文件时, 先在 read action 之外获取变更列表
+        Set<VirtualFile> changedFiles = changedScope ? ChangedFilesUtils.changedFiles(project) : null;
+
+        Set<String> changedClassNameSet = new HashSet<>();
+        CatalogSnapshot current = ReadAction.compute(() -> {
+
+            if (changedFiles == null) {
+                return doScan(indicator, previousClassMap(previous));
+            }
+
+            Set<PsiClass> changedClasses = ChangedFilesUtils.changedDocViewClasses(project, changedFiles);
+            for (PsiClass changedClass : changedClasses) {
+                changedClassNameSet.add(changedClass.getQualifiedName());
+            }
+
+            return previous == null
+                    ? doScan(indicator, previousClassMap(null))
+                    : doScanChanged(indicator, previous, changedFiles, changedClasses);
+        });
+
+        snapshot = current;
+        endpointIndex = null;
+        changedClassNames = changedFiles == null ? null : changedClassNameSet;
+        scanModificationCount = modificationCount;
+        StorageUtils.writeCatalogSnapshot(project, current);
+        return current;
+    }
+
+    /**
+     * 目录树展示的快照, 只显示变更文件时过滤掉没有变更的类
+     *
+     * @return 快照, 从未扫描过, 或者只显示变更文件但还没有按变更文件扫描时为 null
+     */
+    @Nullable
+    public CatalogSnapshot treeSnapshot() {
+
+        CatalogSnapshot current = loadSnapshot();
+        if (current == null || !WindowSettings.getInstance(project).isChangedScope()) {
+            return current;
+        }
+
+        Set<String> classNames = changedClassNames;
+        if (classNames == null) {
+            return null;
+        }
+
+        CatalogSnapshot filtered = new CatalogSnapshot();
+        filtered.setStale(current.isStale());
+        for (CatalogSnapshot.ModuleItem moduleItem : current.getModuleList()) {
+
+            CatalogSnapshot.ModuleItem filteredModule = new CatalogSnapshot.ModuleItem();
+            filteredModule.setName(moduleItem.getName());
+            for (CatalogSnapshot.ClassItem classItem : moduleItem.getClassList()) {
+                if (classNames.contains(classItem.getQualifiedName())) {
+                    filteredModule.getClassList().add(classItem);
+                }
+            }
+
+            if (!filteredModule.getClassList().isEmpty()) {
+                filtered.getModuleList().add(filteredModule);
+            }
+        }
+        return filtered;
+    }
+
+    /**
+     * 接口检索表, 快照变化后第一次使用时重新构造
+     *
+     * @return 检索表, 没有快照时为 null
+     */
+    @Nullable
+    public EndpointIndex getEndpointIndex() {
+        EndpointIndex index = endpointIndex;
+        if (index == null) {
+            CatalogSnapshot current = loadSnapshot();
+            if (current == null) {
+                return null;
+            }
+            index = new EndpointIndex(current);
+            endpointIndex = index;
+        }
+        return index;
+    }
+
+    /**
+     * 根据快照重新定位类
+     *
+     * @param classItem 快照中的类
+     * @return 类, 已被删除或者正在建立索引时返回 null
+     */
+    @Nullable
+    public PsiClass findClass(@NotNull CatalogSnapshot.ClassItem classItem) {
+        if (DumbService.isDumb(project)) {
+            return null;
+        }
+        return ReadAction.compute(() -> JavaPsiFacade.getInstance(project)
+                .findClass(classItem.getQualifiedName(), GlobalSearchScope.projectScope(project)));
+    }
+
+    /**
+     * 根据方法名和参数签名重新定位方法
+     *
+     * @param classItem  快照中的类
+     * @param methodItem 快照中的方法
+     * @return 方法, 已被删除时返回 null
+     */
+    @Nullable
+    public PsiMethod findMethod(@NotNull CatalogSnapshot.ClassItem classItem, @NotNull CatalogSnapshot.MethodItem methodItem) {
+        return ReadAction.compute(() -> {
+            PsiClass psiClass = findClass(classItem);
+            if (psiClass == null) {
+                return null;
+            }
+            for (PsiMethod psiMethod : psiClass.findMethodsByName(methodItem.getMethodName(), true)) {
+                if (methodItem.getSignature().equals(CustomPsiUtils.methodSignature(psiMethod))) {
+                    return psiMethod;
+                }
+            }
+            return null;
+        });
+    }
+
+    private static Map<String, CatalogSnapshot.ClassItem> previousClassMap(@Nullable CatalogSnapshot previous) {
+        Map<String, CatalogSnapshot.ClassItem> previousClassMap = new HashMap<>();
+        if (previous != null) {
+            for (CatalogSnapshot.ModuleItem moduleItem : previous.getModuleList()) {
+                for (CatalogSnapshot.ClassItem classItem : moduleItem.getClassList()) {
+                    previousClassMap.put(classItem.getQualifiedName(), classItem);
+                }
+            }
+        }
+        return previousClassMap;
+    }
+
+    /**
+     * 在上一次的快照上只重新解析变更的类, 不查询整个项目的索引
+     *
+     * @param previous       上一次的快照
+     * @param changedFiles   变更的文件
+     * @param changedClasses 变更文件中, 以及引用了变更类的可以生成文档的类
+     * @return 新的快照
+     */
+    private CatalogSnapshot doScanChanged(ProgressIndicator indicator,
+                                          CatalogSnapshot previous,
+                                          Set<VirtualFile> changedFiles,
+                                          Set<PsiClass> changedClasses) {
+
+        Set<String> changedUrls = changedFiles.stream().map(VirtualFile::getUrl).collect(Collectors.toSet());
+        Set<String> changedNames = changedClasses.stream().map(PsiClass::getQualifiedName).collect(Collectors.toSet());
+
+        // 变更文件中的类可能已经删除或者不再生成文档, 先从快照中移除, 再加入重新解析的结果
+        Map<String, CatalogSnapshot.ModuleItem> moduleItemMap = new LinkedHashMap<>();
+        for (CatalogSnapshot.ModuleItem moduleItem : previous.getModuleList()) {
+            CatalogSnapshot.ModuleItem currentModule = new CatalogSnapshot.ModuleItem();
+            currentModule.setName(moduleItem.getName());
+            for (CatalogSnapshot.ClassItem classItem : moduleItem.getClassList()) {
+                if (!changedUrls.contains(classItem.getFileUrl()) && !changedNames.contains(classItem.getQualifiedName())) {
+                    currentModule.getClassList().add(classItem);
+                }
+            }
+            moduleItemMap.put(currentModule.getName(), currentModule);
+        }
+
+        for (PsiClass psiClass : changedClasses) {
+            indicator.checkCanceled();
+
+            Module module = ModuleUtilCore.findModuleForPsiElement(psiClass);
+            if (module == null) {
+                continue;
+            }
+            moduleItemMap.computeIfAbsent(module.getName(), name -> {
+                CatalogSnapshot.ModuleItem moduleItem = new CatalogSnapshot.ModuleItem();
+                moduleItem.setName(name);
+                return moduleItem;
+            }).getClassList().add(buildClassItem(psiClass, virtualFile(psiClass)));
+        }
+
+        CatalogSnapshot current = new CatalogSnapshot();
+        for (CatalogSnapshot.ModuleItem moduleItem : moduleItemMap.values()) {
+            if (!moduleItem.getClassList().isEmpty()) {
+                current.getModuleList().add(moduleItem);
+            }
+        }
+        return current;
+    }
+
+    private CatalogSnapshot doScan(ProgressIndicator indicator,
+                                   Map<String, CatalogSnapshot.ClassItem> previousClassMap) {
+
+        // 整个项目只查询一次索引, 再按模块分组
+        Map<Module, List<PsiClass>> moduleClassMap = findDocViewClasses(indicator);
+        List<Module> modules = new ArrayList<>(moduleClassMap.keySet());
+        CatalogSnapshot.ModuleItem[] moduleItems = new CatalogSnapshot.ModuleItem[modules.size()];
+
+        // 各模块并行解析, 线程数由平台控制, 取消时所有模块一起停止
+        boolean completed = JobLauncher.getInstance().invokeConcurrentlyUnderProgress(
+                IntStream.range(0, modules.size()).boxed().collect(Collectors.toList()),
+                indicator,
+                index -> {
+                    Module module = modules.get(index);
+                    moduleItems[index] = buildModuleItem(module, moduleClassMap.get(module), indicator, previousClassMap);
+                    return true;
+                });
+
+        if (!completed) {
+            throw new ProcessCanceledException();
+        }
+
+        CatalogSnapshot current = new CatalogSnapshot();
+        for (CatalogSnapshot.ModuleItem moduleItem : moduleItems) {
+            if (!moduleItem.getClassList().isEmpty()) {
+                current.getModuleList().add(moduleItem);
+            }
+        }
+        return current;
+    }
+
+    private CatalogSnapshot.ModuleItem buildModuleItem(Module module,
+                                                       List<PsiClass> psiClasses,
+                                                       ProgressIndicator indicator,
+                                                       Map<String, CatalogSnapshot.ClassItem> previousClassMap) {
+
+        CatalogSnapshot.ModuleItem moduleItem = new CatalogSnapshot.ModuleItem();
+        moduleItem.setName(module.getName());
+
+        for (PsiClass psiClass : psiClasses) {
+            indicator.checkCanceled();
+
+            VirtualFile file = virtualFile(psiClass);
+            CatalogSnapshot.ClassItem previousItem = previousClassMap.get(psiClass.getQualifiedName());
+
+            if (previousItem != null && file != null && isUnchanged(previousItem, file)) {
+                moduleItem.getClassList().add(previousItem);
+            } else {
+                moduleItem.getClassList().add(buildClassItem(psiClass, file));
+            }
+        }
+        return moduleItem;
+    }
+
+    /**
+     * 查找项目中所有可以生成文档的类, 按模块分组
+     *
+     * @param indicator 进度
+     * @return 模块 -> 类列表, 按模块顺序
+     */
+    private Map<Module, List<PsiClass>> findDocViewClasses(ProgressIndicator indicator) {
+
+        GlobalSearchScope projectScope = GlobalSearchScope.projectScope(project);
+
+        // 同一个类可能同时满足多种条件, 例如 Feign 接口也可以通过 Spring 类注解查到
+        Set<PsiClass> psiClasses = new LinkedHashSet<>();
+
+        if (Settings.getInstance(project).getIncludeNormalInterface()) {
+            // 包含普通接口则扫描所有接口
+            List<PsiClass> interfaceList = AllClassesSearch.search(projectScope, project).findAll()
+                    .stream()
+                    .filter(PsiClass::isInterface)
+                    .collect(Collectors.toList());
+            psiClasses.addAll(interfaceList);
+        } else {
+            psiClasses.addAll(DubboPsiUtils.findDocViewClasses(project, projectScope));
+            psiClasses.addAll(FeignPsiUtil.findDocViewClasses(project, projectScope));
+        }
+
+        psiClasses.addAll(SpringPsiUtils.findDocViewClasses(project, projectScope));
+
+        Map<Module, List<PsiClass>> moduleClassMap = new LinkedHashMap<>();
+        for (Module module : ModuleManager.getInstance(project).getModules()) {
+            moduleClassMap.put(module, new ArrayList<>());
+        }
+
+        for (PsiClass psiClass : psiClasses) {
+            indicator.checkCanceled();
+            Module module = ModuleUtilCore.findModuleForPsiElement(psiClass);
+            if (module != null && moduleClassMap.containsKey(module)) {
+                moduleClassMap.get(module).add(psiClass);
+            }
+        }
+
+        moduleClassMap.values().removeIf(List::isEmpty);
+        return moduleClassMap;
+    }
+
+    private boolean isUnchanged(CatalogSnapshot.ClassItem classItem, VirtualFile file) {
+        return file.getUrl().equals(classItem.getFileUrl())
+                && file.getTimeStamp() == classItem.getFileStamp()
+                && !FileDocumentManager.getInstance().isFileModified(file);
+    }
+
+    private CatalogSnapshot.ClassItem buildClassItem(PsiClass psiClass, @Nullable VirtualFile file) {
+
+        CatalogSnapshot.ClassItem classItem = new CatalogSnapshot.ClassItem();
+        classItem.setQualifiedName(psiClass.getQualifiedName());
+        classItem.setTitle(DocViewUtils.getTitle(psiClass));
+        classItem.setInterfaceType(psiClass.isInterface());
+        classItem.setFileUrl(file == null ? "" : file.getUrl());
+        classItem.setFileStamp(file == null ? -1 : file.getTimeStamp());
+
+        DocViewService service;
+        try {
+            service = DocViewService.getInstance(project, psiClass);
+        } catch (DocViewException e) {
+            return classItem;
+        }
+
+        // 包含从父类继承的接口
+        for (PsiMethod psiMethod : service.docViewMethods(psiClass)) {
+            CatalogSnapshot.MethodItem methodItem = new CatalogSnapshot.MethodItem();
+            methodItem.setName(DocViewUtils.getName(psiMethod));
+            methodItem.setMethodName(psiMethod.getName());
+            methodItem.setSignature(CustomPsiUtils.methodSignature(psiMethod));
+            methodItem.setDesc(DocViewUtils.getMethodDesc(psiMethod));
+            methodItem.setPath(service.path(psiClass, psiMethod));
+            methodItem.setMethod(service.method(psiMethod));
+            classItem.getMethodList().add(methodItem);
+        }
+        return classItem;
+    }
+
+    @Nullable
+    private static VirtualFile virtualFile(PsiClass psiClass) {
+        PsiFile psiFile = psiClass.getContainingFile();
+        return psiFile == null ? null : psiFile.getVirtualFile();
+    }
+
+}
@@ -10,12 +10,14 @@ import com.liuzhihang.doc.view.dto.DocView;
 import com.liuzhihang.doc.view.exception.DocViewException;
 import com.liuzhihang.doc.view.service.impl.DubboDocViewServiceImpl;
 import com.liuzhihang.doc.view.service.impl.SpringDocViewServiceImpl;
+import com.liuzhihang.doc.view.utils.DocViewUtils;
 import com.liuzhihang.doc.view.utils.DubboPsiUtils;
 import com.liuzhihang.doc.view.utils.FeignPsiUtil;
 import com.liuzhihang.doc.view.utils.SpringPsiUtils;
 import org.apache.commons.lang3.RandomStringUtils;
 import org.jetbrains.annotations.NotNull;
 
+import java.util.Arrays;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Set;
@@ -108,6 +110,36 @@ public interface DocViewService {
 
     boolean checkMethod(@NotNull PsiMethod targetMethod);
 
+    /**
+     * 接口路径, 目录树中只需要路径和请求方式, 无需构造整个文档
+     *
+     * @param psiClass  当前类
+     * @param psiMethod 当前方法
+     * @return 路径
+     */
+    @NotNull
+    String path(@NotNull PsiClass psiClass, @NotNull PsiMethod psiMethod);
+
+    /**
+     * 请求方式
+     *
+     * @param psiMethod 当前方法
+     * @return 请求方式
+     */
+    @NotNull
+    String method(@NotNull PsiMethod psiMethod);
+
+    /**
+     * 类中需要生成文档的方法
+     *
+     * @param psiClass 当前类
+     * @return 方法列表
+     */
+    @NotNull
+    default List<PsiMethod> docViewMethods(@NotNull PsiClass psiClass) {
+        return Arrays.stream(psiClass.getMethods()).filter(DocViewUtils::isDocViewMethod).collect(Collectors.toList());
+    }
+
     /**
      * 构造类文档
      *
@@ -0,0 +1,206 @@
+package com.liuzhihang.doc.view.service;
+
+import com.intellij.codeInsight.AnnotationUtil;
+import com.intellij.lang.java.JavaLanguage;
+import com.intellij.lang.xml.XMLLanguage;
+import com.intellij.openapi.project.Project;
+import com.intellij.openapi.roots.ProjectRootManager;
+import com.intellij.psi.CommonClassNames;
+import com.intellij.psi.JavaPsiFacade;
+import com.intellij.psi.PsiAnnotation;
+import com.intellij.psi.PsiAnnotationMemberValue;
+import com.intellij.psi.PsiClass;
+import com.intellij.psi.PsiClassObjectAccessExpression;
+import com.intellij.psi.PsiElement;
+import com.intellij.psi.PsiModifierList;
+import com.intellij.psi.impl.java.stubs.index.JavaAnnotationIndex;
+import com.intellij.psi.search.GlobalSearchScope;
+import com.intellij.psi.util.CachedValueProvider;
+import com.intellij.psi.util.CachedValuesManager;
+import com.intellij.psi.util.InheritanceUtil;
+import com.intellij.psi.util.PsiModificationTracker;
+import com.intellij.psi.util.PsiUtil;
+import com.intellij.util.xml.DomFileElement;
+import com.intellij.util.xml.DomService;
+import com.liuzhihang.doc.view.constant.DubboConstant;
+import com.liuzhihang.doc.view.dom.BeansDomElement;
+import com.liuzhihang.doc.view.dom.DubboServiceDomElement;
+import org.apache.commons.lang3.StringUtils;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * 项目中暴露的 Dubbo 接口
+ * <p>
+ * 一次性收集注解和 xml 中的 Dubbo 接口, 缓存到 Java 或 xml 文件发生变化,
+ * 判断是否为 Dubbo 接口时只需要查表
+ *
+ * @author liuzhihang
+ * @date 2026/10/19
+ */
+public class DubboServiceRegistry {
+
+    /**
+     * 接口全限定名 -> 接口
+     */
+    private final Map<String, PsiClass> interfaceMap = new LinkedHashMap<>();
+
+    /**
+     * 接口全限定名 -> xml 中的 <dubbo:service/> 标签
+     */
+    private final Map<String, List<DubboServiceDomElement>> xmlServiceMap = new HashMap<>();
+
+    public static DubboServiceRegistry getInstance(@NotNull Project project) {
+        return CachedValuesManager.getManager(project).getCachedValue(project, () -> CachedValueProvider.Result.create(
+                build(project),
+                PsiModificationTracker.getInstance(project).forLanguage(JavaLanguage.INSTANCE),
+                PsiModificationTracker.getInstance(project).forLanguage(XMLLanguage.INSTANCE),
+                ProjectRootManager.getInstance(project)));
+    }
+
+    /**
+     * 是否为暴露的 Dubbo 接口
+     *
+     * @param psiClass 类
+     * @return true 是
+     */
+    public boolean isDubboInterface(@NotNull PsiClass psiClass) {
+        String qualifiedName = psiClass.getQualifiedName();
+        return qualifiedName != null && interfaceMap.containsKey(qualifiedName);
+    }
+
+    /**
+     * 所有暴露的 Dubbo 接口
+     *
+     * @return 接口
+     */
+    @NotNull
+    public Collection<PsiClass> getInterfaces() {
+        return Collections.unmodifiableCollection(interfaceMap.values());
+    }
+
+    /**
+     * xml 中配置该接口的 <dubbo:service/> 标签
+     *
+     * @param qualifiedName 接口全限定名
+     * @return 标签
+     */
+    @NotNull
+    public List<DubboServiceDomElement> getXmlServices(String qualifiedName) {
+        return xmlServiceMap.getOrDefault(qualifiedName, Collections.emptyList());
+    }
+
+    private static DubboServiceRegistry build(@NotNull Project project) {
+
+        DubboServiceRegistry registry = new DubboServiceRegistry();
+        GlobalSearchScope projectScope = GlobalSearchScope.projectScope(project);
+
+        // 注解: 接口上直接有注解, 或者实现类上有注解则注解中指定的接口, 没有指定时实现的项目中的接口是 Dubbo 接口
+        Set<String> shortNames = new LinkedHashSet<>();
+        for (String annotation : DubboConstant.SERVICE_ANNOTATIONS) {
+            shortNames.add(StringUtils.substringAfterLast(annotation, "."));
+        }
+
+        for (String shortName : shortNames) {
+            for (PsiAnnotation psiAnnotation : JavaAnnotationIndex.getInstance().get(shortName, project, projectScope)) {
+
+                PsiElement owner = psiAnnotation.getParent() instanceof PsiModifierList
+                        ? psiAnnotation.getParent().getParent() : null;
+
+                if (!(owner instanceof PsiClass)
+                        || !AnnotationUtil.isAnnotated((PsiClass) owner, DubboConstant.SERVICE_ANNOTATIONS, 0)) {
+                    continue;
+                }
+
+                PsiClass psiClass = (PsiClass) owner;
+                if (psiClass.isInterface()) {
+                    registry.addInterface(psiClass);
+                    continue;
+                }
+
+                PsiClass declared = declaredInterface(project, psiAnnotation);
+                if (declared != null) {
+                    registry.addInterface(declared);
+                    continue;
+                }
+
+                // Serializable 等依赖库中的接口不是 Dubbo 接口
+                Set<PsiClass> supers = new LinkedHashSet<>();
+                InheritanceUtil.getSuperClasses(psiClass, supers, false);
+                supers.stream()
+                        .filter(PsiClass::isInterface)
+                        .filter(superClass -> superClass.getContainingFile() != null
+                                && projectScope.contains(superClass.getContainingFile().getVirtualFile()))
+                        .forEach(registry::addInterface);
+            }
+        }
+
+        // xml: <dubbo:service interface="..."/>
+        GlobalSearchScope allScope = GlobalSearchScope.allScope(project);
+        List<DomFileElement<BeansDomElement>> fileElements = DomService.getInstance()
+                .getFileElements(BeansDomElement.class, project, allScope);
+
+        for (DomFileElement<BeansDomElement> fileElement : fileElements) {
+            for (DubboServiceDomElement serviceDomElement : fileElement.getRootElement().getDubboServiceDomElements()) {
+
+                String qualifiedName = serviceDomElement.getInterface().getStringValue();
+                if (StringUtils.isBlank(qualifiedName)) {
+                    continue;
+                }
+
+                registry.xmlServiceMap.computeIfAbsent(qualifiedName, k -> new ArrayList<>()).add(serviceDomElement);
+
+                PsiClass psiClass = JavaPsiFacade.getInstance(project).findClass(qualifiedName, allScope);
+                if (psiClass != null && psiClass.isInterface()) {
+                    registry.addInterface(psiClass);
+                }
+            }
+        }
+        return registry;
+    }
+
+    /**
+     * 注解中 interfaceClass 或 interfaceName 指定的接口
+     *
+     * @return 没有指定或者找不到时为 null
+     */
+    @Nullable
+    private static PsiClass declaredInterface(@NotNull Project project, @NotNull PsiAnnotation psiAnnotation) {
+
+        PsiAnnotationMemberValue interfaceClass = psiAnnotation.findDeclaredAttributeValue("interfaceClass");
+        if (interfaceClass instanceof PsiClassObjectAccessExpression) {
+            PsiClass psiClass = PsiUtil.resolveClassInType(
+                    ((PsiClassObjectAccessExpression) interfaceClass).getOperand().getType());
+            if (psiClass != null && psiClass.isInterface() && !CommonClassNames.JAVA_LANG_VOID.equals(psiClass.getQualifiedName())) {
+                return psiClass;
+            }
+        }
+
+        String interfaceName = AnnotationUtil.getStringAttributeValue(psiAnnotation, "interfaceName");
+        if (StringUtils.isNotBlank(interfaceName)) {
+            PsiClass psiClass = JavaPsiFacade.getInstance(project).findClass(interfaceName, GlobalSearchScope.allScope(project));
+            if (psiClass != null && psiClass.isInterface()) {
+                return psiClass;
+            }
+        }
+        return null;
+    }
+
+    private void addInterface(PsiClass psiClass) {
+        String qualifiedName = psiClass.getQualifiedName();
+        if (qualifiedName != null) {
+            interfaceMap.putIfAbsent(qualifiedName, psiClass);
+        }
+    }
+
+}
@@ -0,0 +1,118 @@
+package com.liuzhihang.doc.view.service;
+
+import com.intellij.lang.java.JavaLanguage;
+import com.intellij.openapi.progress.ProgressManager;
+import com.intellij.openapi.project.Project;
+import com.intellij.openapi.roots.ProjectRootManager;
+import com.intellij.openapi.util.Pair;
+import com.intellij.psi.PsiClass;
+import com.intellij.psi.PsiMethod;
+import com.intellij.psi.PsiSubstitutor;
+import com.intellij.psi.search.GlobalSearchScope;
+import com.intellij.psi.util.CachedValueProvider;
+import com.intellij.psi.util.CachedValuesManager;
+import com.intellij.psi.util.PsiModificationTracker;
+import com.liuzhihang.doc.view.utils.SpringPsiUtils;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+/**
+ * Feign 接口方法与 Controller 方法的对应关系
+ * <p>
+ * 一次性把项目中所有 Controller 方法 (包含继承的接口方法) 按 请求方式 + 规范化路径 建表, 缓存到 Java 文件发生变化,
+ * 预览 Feign 接口时直接查表找到实现该接口的 Controller 方法; 多个 Controller 方法对应同一个 key 时无法确定是哪一个,
+ * 这些 key 不参与匹配, Feign 方法使用自身的文档
+ *
+ * @author liuzhihang
+ * @date 2026/10/19
+ */
+public class FeignContractRegistry {
+
+    /**
+     * 路径变量名称不参与匹配, /user/{id} 和 /user/{userId} 视为同一路径
+     */
+    private static final Pattern PATH_VARIABLE_PATTERN = Pattern.compile("\\{[^}]*}");
+
+    private static final Pattern SLASH_PATTERN = Pattern.compile("/{2,}");
+
+    /**
+     * 请求方式 + 规范化路径 -> Controller 类和方法, 方法可能是从父类继承的
+     */
+    private final Map<String, Pair<PsiClass, PsiMethod>> endpointMap = new HashMap<>();
+
+    /**
+     * 对应多个 Controller 方法的 key
+     */
+    private final Set<String> ambiguousKeySet = new HashSet<>();
+
+    public static FeignContractRegistry getInstance(@NotNull Project project) {
+        return CachedValuesManager.getManager(project).getCachedValue(project, () -> CachedValueProvider.Result.create(
+                build(project),
+                PsiModificationTracker.getInstance(project).forLanguage(JavaLanguage.INSTANCE),
+                ProjectRootManager.getInstance(project)));
+    }
+
+    /**
+     * 查找 Feign 方法对应的 Controller 方法
+     *
+     * @param feignClass  Feign 接口
+     * @param feignMethod Feign 方法
+     * @return Controller 类和方法, 不在当前项目中或者对应多个 Controller 方法时返回 null
+     */
+    @Nullable
+    public Pair<PsiClass, PsiMethod> findController(@NotNull PsiClass feignClass, @NotNull PsiMethod feignMethod) {
+        Pair<PsiClass, PsiMethod> controller = endpointMap.get(
+                key(SpringPsiUtils.method(feignMethod), SpringPsiUtils.path(feignClass, feignMethod)));
+        return controller != null && controller.getFirst().isValid() && controller.getSecond().isValid() ? controller : null;
+    }
+
+    private static FeignContractRegistry build(@NotNull Project project) {
+
+        FeignContractRegistry registry = new FeignContractRegistry();
+
+        for (PsiClass psiClass : SpringPsiUtils.findDocViewClasses(project, GlobalSearchScope.projectScope(project))) {
+            ProgressManager.checkCanceled();
+
+            // Feign 接口本身也带有 Spring 注解, 只收集 Controller
+            if (psiClass.isInterface()) {
+                continue;
+            }
+
+            // 和 Controller 自身的文档一致, 包含父类和接口中继承的接口方法
+            for (Pair<PsiMethod, PsiSubstitutor> pair : SpringPsiUtils.endpointMethods(psiClass)) {
+                PsiMethod psiMethod = pair.getFirst();
+                registry.register(key(SpringPsiUtils.method(psiMethod), SpringPsiUtils.path(psiClass, psiMethod)),
+                        Pair.create(psiClass, psiMethod));
+            }
+        }
+        return registry;
+    }
+
+    private void register(String key, Pair<PsiClass, PsiMethod> controller) {
+
+        if (ambiguousKeySet.contains(key)) {
+            return;
+        }
+
+        Pair<PsiClass, PsiMethod> exist = endpointMap.putIfAbsent(key, controller);
+        if (exist != null && !exist.equals(controller)) {
+            endpointMap.remove(key);
+            ambiguousKeySet.add(key);
+        }
+    }
+
+    private static String key(String method, String path) {
+        String normalized = SLASH_PATTERN.matcher(PATH_VARIABLE_PATTERN.matcher(path).replaceAll("{}")).replaceAll("/");
+        if (normalized.endsWith("/")) {
+            normalized = normalized.substring(0, normalized.length() - 1);
+        }
+        return method + " " + normalized;
+    }
+
+}
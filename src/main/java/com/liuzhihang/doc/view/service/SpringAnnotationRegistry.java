@@ -0,0 +1,138 @@
+package com.liuzhihang.doc.view.service;
+
+import com.intellij.lang.java.JavaLanguage;
+import com.intellij.openapi.project.Project;
+import com.intellij.openapi.roots.ProjectRootManager;
+import com.intellij.psi.PsiAnnotation;
+import com.intellij.psi.PsiClass;
+import com.intellij.psi.PsiElement;
+import com.intellij.psi.PsiModifierList;
+import com.intellij.psi.impl.java.stubs.index.JavaAnnotationIndex;
+import com.intellij.psi.search.GlobalSearchScope;
+import com.intellij.psi.util.CachedValueProvider;
+import com.intellij.psi.util.CachedValuesManager;
+import com.intellij.psi.util.PsiModificationTracker;
+import com.liuzhihang.doc.view.config.Settings;
+import org.apache.commons.lang3.StringUtils;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.ArrayDeque;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+/**
+ * 生效的 Spring 类注解和方法注解
+ * <p>
+ * 以设置中的注解为起点, 递归查找被这些注解标注的组合注解, 例如被 @RestController 标注的 @ApiController,
+ * 结果缓存到 Java 文件或者设置发生变化
+ *
+ * @author liuzhihang
+ * @date 2026/10/19
+ */
+public class SpringAnnotationRegistry {
+
+    /**
+     * 类注解全限定名, 包含组合注解
+     */
+    private final Set<String> classAnnotations;
+
+    /**
+     * 方法注解全限定名, 包含组合注解
+     */
+    private final Set<String> methodAnnotations;
+
+    private SpringAnnotationRegistry(Set<String> classAnnotations, Set<String> methodAnnotations) {
+        this.classAnnotations = Collections.unmodifiableSet(classAnnotations);
+        this.methodAnnotations = Collections.unmodifiableSet(methodAnnotations);
+    }
+
+    public static SpringAnnotationRegistry getInstance(@NotNull Project project) {
+
+        Settings settings = Settings.getInstance(project);
+
+        return CachedValuesManager.getManager(project).getCachedValue(project, () -> CachedValueProvider.Result.create(
+                build(project, settings),
+                PsiModificationTracker.getInstance(project).forLanguage(JavaLanguage.INSTANCE),
+                ProjectRootManager.getInstance(project),
+                // 设置中的注解变化后重新查找
+                settings.getModificationTracker()));
+    }
+
+    @NotNull
+    public Set<String> getClassAnnotations() {
+        return classAnnotations;
+    }
+
+    @NotNull
+    public Set<String> getMethodAnnotations() {
+        return methodAnnotations;
+    }
+
+    /**
+     * 类注解的简单名称, 用于查询注解索引
+     *
+     * @return 简单名称
+     */
+    @NotNull
+    public Set<String> getClassAnnotationShortNames() {
+        return shortNames(classAnnotations);
+    }
+
+    private static SpringAnnotationRegistry build(@NotNull Project project, @NotNull Settings settings) {
+        GlobalSearchScope scope = GlobalSearchScope.allScope(project);
+        return new SpringAnnotationRegistry(
+                resolve(project, scope, settings.getContainClassAnnotationName()),
+                resolve(project, scope, settings.getContainMethodAnnotationName()));
+    }
+
+    /**
+     * 递归查找被指定注解标注的注解
+     *
+     * @param project project
+     * @param scope   范围
+     * @param seeds   起始注解全限定名
+     * @return 起始注解及其所有组合注解
+     */
+    private static Set<String> resolve(Project project, GlobalSearchScope scope, Set<String> seeds) {
+
+        Set<String> result = new LinkedHashSet<>(seeds);
+        Deque<String> queue = new ArrayDeque<>(seeds);
+
+        while (!queue.isEmpty()) {
+            String qualifiedName = queue.poll();
+
+            for (PsiAnnotation psiAnnotation : JavaAnnotationIndex.getInstance().get(shortName(qualifiedName), project, scope)) {
+
+                PsiElement owner = psiAnnotation.getParent() instanceof PsiModifierList
+                        ? psiAnnotation.getParent().getParent() : null;
+
+                // 先用 stub 过滤出注解类型, 只解析这部分注解
+                if (!(owner instanceof PsiClass) || !((PsiClass) owner).isAnnotationType()
+                        || !psiAnnotation.hasQualifiedName(qualifiedName)) {
+                    continue;
+                }
+
+                String composed = ((PsiClass) owner).getQualifiedName();
+                if (composed != null && result.add(composed)) {
+                    queue.add(composed);
+                }
+            }
+        }
+        return result;
+    }
+
+    private static Set<String> shortNames(Set<String> qualifiedNames) {
+        Set<String> shortNames = new LinkedHashSet<>();
+        for (String qualifiedName : qualifiedNames) {
+            shortNames.add(shortName(qualifiedName));
+        }
+        return shortNames;
+    }
+
+    private static String shortName(String qualifiedName) {
+        return qualifiedName.contains(".") ? StringUtils.substringAfterLast(qualifiedName, ".") : qualifiedName;
+    }
+
+}
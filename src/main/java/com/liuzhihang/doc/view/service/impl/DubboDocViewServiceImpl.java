@@ -35,6 +35,18 @@ public class DubboDocViewServiceImpl implements DocViewService {
         return DubboPsiUtils.isDubboMethod(targetMethod);
     }
 
+    @NotNull
+    @Override
+    public String path(@NotNull PsiClass psiClass, @NotNull PsiMethod psiMethod) {
+        return psiClass.getName() + "#" + psiMethod.getName();
+    }
+
+    @NotNull
+    @Override
+    public String method(@NotNull PsiMethod psiMethod) {
+        return "Dubbo";
+    }
+
     /**
      * 创建类的文档
      * <p>
@@ -77,8 +89,8 @@ public class DubboDocViewServiceImpl implements DocViewService {
         docView.setDocTitle(DocViewUtils.getTitle(psiClass));
         docView.setName(DocViewUtils.getName(psiMethod));
         docView.setDesc(DocViewUtils.getMethodDesc(psiMethod));
-        docView.setPath(psiClass.getName() + "#" + psiMethod.getName());
-        docView.setMethod("Dubbo");
+        docView.setPath(path(psiClass, psiMethod));
+        docView.setMethod(method(psiMethod));
         // docView.setDomain();
         docView.setType(FrameworkEnum.DUBBO);
 
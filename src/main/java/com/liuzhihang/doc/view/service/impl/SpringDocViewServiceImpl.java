@@ -1,14 +1,18 @@
 package com.liuzhihang.doc.view.service.impl;
 
+import com.intellij.openapi.util.Pair;
 import com.intellij.psi.PsiClass;
 import com.intellij.psi.PsiMethod;
 import com.intellij.psi.PsiParameter;
+import com.intellij.psi.PsiSubstitutor;
 import com.intellij.psi.PsiType;
 import com.liuzhihang.doc.view.dto.DocView;
 import com.liuzhihang.doc.view.enums.ContentTypeEnum;
 import com.liuzhihang.doc.view.enums.FrameworkEnum;
 import com.liuzhihang.doc.view.service.DocViewService;
+import com.liuzhihang.doc.view.service.FeignContractRegistry;
 import com.liuzhihang.doc.view.utils.DocViewUtils;
+import com.liuzhihang.doc.view.utils.FeignPsiUtil;
 import com.liuzhihang.doc.view.utils.ParamPsiUtils;
 import com.liuzhihang.doc.view.utils.SpringPsiUtils;
 import org.jetbrains.annotations.NotNull;
@@ -16,6 +20,7 @@ import org.jetbrains.annotations.NotNull;
 import java.util.Collections;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.stream.Collectors;
 
 import static com.intellij.psi.PsiKeyword.VOID;
 
@@ -32,26 +37,61 @@ public class SpringDocViewServiceImpl implements DocViewService {
 
     @NotNull
     @Override
-    public List<DocView> buildClassDoc(@NotNull PsiClass psiClass) {
+    public String path(@NotNull PsiClass psiClass, @NotNull PsiMethod psiMethod) {
+        return SpringPsiUtils.path(psiClass, psiMethod);
+    }
 
-        List<DocView> docViewList = new LinkedList<>();
+    @NotNull
+    @Override
+    public String method(@NotNull PsiMethod psiMethod) {
+        return SpringPsiUtils.method(psiMethod);
+    }
 
-        for (PsiMethod method : psiClass.getMethods()) {
+    @NotNull
+    @Override
+    public List<DocView> buildClassDoc(@NotNull PsiClass psiClass) {
 
-            if (!SpringPsiUtils.isSpringMethod(method)) {
-                continue;
-            }
+        List<DocView> docViewList = new LinkedList<>();
 
-            DocView docView = buildClassMethodDoc(psiClass, method);
+        // 包含从父类继承的接口
+        for (Pair<PsiMethod, PsiSubstitutor> pair : SpringPsiUtils.endpointMethods(psiClass)) {
+            DocView docView = buildClassMethodDoc(psiClass, pair.getFirst(), pair.getSecond());
             docViewList.add(docView);
         }
 
         return docViewList;
     }
 
+    @NotNull
+    @Override
+    public List<PsiMethod> docViewMethods(@NotNull PsiClass psiClass) {
+        return SpringPsiUtils.endpointMethods(psiClass).stream().map(Pair::getFirst).collect(Collectors.toList());
+    }
+
     @NotNull
     @Override
     public DocView buildClassMethodDoc(PsiClass psiClass, @NotNull PsiMethod psiMethod) {
+        return buildClassMethodDoc(psiClass, psiMethod, SpringPsiUtils.substitutor(psiClass, psiMethod));
+    }
+
+    /**
+     * 构造方法文档
+     *
+     * @param psiClass    当前类
+     * @param psiMethod   当前方法, 可能是从父类继承的方法
+     * @param substitutor 父类泛型到当前类的替换
+     * @return 文档
+     */
+    @NotNull
+    private DocView buildClassMethodDoc(PsiClass psiClass, @NotNull PsiMethod psiMethod, @NotNull PsiSubstitutor substitutor) {
+
+        // Feign 接口直接使用对应 Controller 方法的文档
+        if (FeignPsiUtil.isFeignClass(psiClass)) {
+            Pair<PsiClass, PsiMethod> controller = FeignContractRegistry.getInstance(psiClass.getProject()).findController(psiClass, psiMethod);
+            if (controller != null) {
+                return buildClassMethodDoc(controller.getFirst(), controller.getSecond());
+            }
+        }
 
         DocView docView = new DocView();
         docView.setPsiClass(psiClass);
@@ -59,8 +99,8 @@ public class SpringDocViewServiceImpl implements DocViewService {
         docView.setDocTitle(DocViewUtils.getTitle(psiClass));
         docView.setName(DocViewUtils.getName(psiMethod));
         docView.setDesc(DocViewUtils.getMethodDesc(psiMethod));
-        docView.setPath(SpringPsiUtils.path(psiClass, psiMethod));
-        docView.setMethod(SpringPsiUtils.method(psiMethod));
+        docView.setPath(path(psiClass, psiMethod));
+        docView.setMethod(method(psiMethod));
         docView.setDomain(Collections.emptyList());
         docView.setType(FrameworkEnum.SPRING);
 
@@ -71,7 +111,7 @@ public class SpringDocViewServiceImpl implements DocViewService {
             docView.setContentType(contentType);
 
             // 请求中的 form 参数, url 后面拼接的 kv
-            docView.setReqParamList(SpringPsiUtils.buildFormParam(psiMethod));
+            docView.setReqParamList(SpringPsiUtils.buildFormParam(psiMethod, substitutor));
             //请求示例
             docView.setReqFormExample(SpringPsiUtils.reqParamKV(docView.getReqParamList()));
 
@@ -79,17 +119,18 @@ public class SpringDocViewServiceImpl implements DocViewService {
                 // JSON 请求可能会有 body
                 PsiParameter requestBodyParam = SpringPsiUtils.requestBodyParam(psiMethod);
                 if (requestBodyParam != null) {
-                    docView.setReqBody(SpringPsiUtils.buildBody(requestBodyParam));
-                    docView.setReqBodyExample(SpringPsiUtils.reqBodyJson(requestBodyParam));
+                    PsiType bodyType = substitutor.substitute(requestBodyParam.getType());
+                    docView.setReqBody(SpringPsiUtils.buildBody(requestBodyParam, bodyType));
+                    docView.setReqBodyExample(SpringPsiUtils.reqBodyJson(requestBodyParam, bodyType));
                 }
             }
         } else {
             docView.setContentType(ContentTypeEnum.FORM);
         }
 
-        docView.setHeaderList(SpringPsiUtils.buildHeader(psiMethod));
+        docView.setHeaderList(SpringPsiUtils.buildHeader(psiMethod, substitutor));
 
-        PsiType returnType = psiMethod.getReturnType();
+        PsiType returnType = substitutor.substitute(psiMethod.getReturnType());
         if (returnType != null && returnType.isValid() && !returnType.equalsToText(VOID)) {
 
             //构造返回body
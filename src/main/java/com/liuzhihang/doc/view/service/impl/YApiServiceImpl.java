@@ -13,6 +13,7 @@ import com.liuzhihang.doc.view.config.YApiSettingsConfigurable;
 import com.liuzhihang.doc.view.constant.FieldTypeConstant;
 import com.liuzhihang.doc.view.dto.Body;
 import com.liuzhihang.doc.view.dto.DocView;
+import com.liuzhihang.doc.view.dto.EnumDescriptor;
 import com.liuzhihang.doc.view.dto.Header;
 import com.liuzhihang.doc.view.dto.Param;
 import com.liuzhihang.doc.view.enums.ContentTypeEnum;
@@ -24,6 +25,7 @@ import com.liuzhihang.doc.view.integration.dto.YapiSave;
 import com.liuzhihang.doc.view.integration.impl.YApiFacadeServiceImpl;
 import com.liuzhihang.doc.view.notification.DocViewNotification;
 import com.liuzhihang.doc.view.service.DocViewUploadService;
+import com.liuzhihang.doc.view.utils.ParamPsiUtils;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.collections.CollectionUtils;
 import org.apache.commons.lang3.StringUtils;
@@ -178,10 +180,13 @@ public final class YApiServiceImpl implements DocViewUploadService {
             Map<String, Object> innerProperties = new LinkedHashMap<>();
             // mock 数据先不填充
 
+            // 参数对应的元素已经被删除时为 null, 只取一次
+            PsiElement psiElement = body.getPsiElement();
+
             // 设置 body
-            if (CollectionUtils.isNotEmpty(body.getChildList()) && body.getPsiElement() instanceof PsiField) {
+            if (CollectionUtils.isNotEmpty(body.getChildList()) && psiElement instanceof PsiField) {
 
-                PsiField field = (PsiField) body.getPsiElement();
+                PsiField field = (PsiField) psiElement;
                 PsiType type = field.getType();
 
                 if (type instanceof PsiPrimitiveType || FieldTypeConstant.FIELD_TYPE.containsKey(type.getPresentableText())) {
@@ -216,9 +221,9 @@ public final class YApiServiceImpl implements DocViewUploadService {
                     innerProperties.put("properties", objectProperties);
                 }
 
-            } else if (body.getPsiElement() instanceof PsiClass) {
+            } else if (psiElement instanceof PsiClass) {
 
-                if (InheritanceUtil.isInheritor((PsiClass) body.getPsiElement(), CommonClassNames.JAVA_UTIL_COLLECTION)) {
+                if (InheritanceUtil.isInheritor((PsiClass) psiElement, CommonClassNames.JAVA_UTIL_COLLECTION)) {
                     // 参数是 List<User>
                     List<String> itermRequiredList = new LinkedList<>();
                     Map<String, Object> iterm = new LinkedHashMap<>();
@@ -245,10 +250,31 @@ public final class YApiServiceImpl implements DocViewUploadService {
 
                 }
 
+            } else if (psiElement == null && CollectionUtils.isNotEmpty(body.getChildList())) {
+                // 元素已经被删除, 按对象保留已经解析的子参数
+                List<String> objectRequiredList = new LinkedList<>();
+                Map<String, Object> objectProperties = new LinkedHashMap<>();
+
+                buildProperties(objectRequiredList, objectProperties, body.getChildList());
+                innerProperties.put("type", "object");
+                innerProperties.put("required", objectRequiredList);
+                innerProperties.put("description", body.getType());
+                innerProperties.put("properties", objectProperties);
+
             } else {
                 // 基础类型
                 innerProperties.put("type", body.getType());
                 innerProperties.put("description", body.getDesc());
+
+                // 枚举列出可选值
+                EnumDescriptor enumDescriptor = psiElement instanceof PsiField field
+                        ? ParamPsiUtils.enumDescriptor(field.getType()) : null;
+                if (enumDescriptor != null && !enumDescriptor.getConstantList().isEmpty()) {
+                    List<Object> valueList = enumDescriptor.values();
+                    innerProperties.put("type", valueList.stream().allMatch(value -> value instanceof Number) ? "integer" : "string");
+                    innerProperties.put("enum", valueList);
+                    innerProperties.put("enumDesc", enumDescriptor.getDescription());
+                }
             }
             // 是否必填
             if (body.getRequired()) {
@@ -22,7 +22,6 @@ import com.liuzhihang.doc.view.enums.ParamTypeEnum;
 import com.liuzhihang.doc.view.notification.DocViewNotification;
 import com.liuzhihang.doc.view.ui.treeview.ParamTreeTableView;
 import com.liuzhihang.doc.view.utils.DocViewUtils;
-import com.liuzhihang.doc.view.utils.GsonFormatUtil;
 import com.liuzhihang.doc.view.utils.ParamPsiUtils;
 import icons.DocViewIcons;
 import org.jetbrains.annotations.Contract;
@@ -36,7 +35,6 @@ import java.awt.datatransfer.Clipboard;
 import java.awt.datatransfer.StringSelection;
 import java.awt.event.MouseEvent;
 import java.util.List;
-import java.util.Map;
 import java.util.concurrent.atomic.AtomicBoolean;
 
 /**
@@ -199,8 +197,7 @@ public class ParamDocEditorForm {
             @Override
             public void actionPerformed(@NotNull AnActionEvent e) {
 
-                Map<String, Object> fieldMap = ParamPsiUtils.getFieldsAndDefaultValue(psiClass, null);
-                String format = GsonFormatUtil.gsonFormat(fieldMap);
+                String format = ParamPsiUtils.exampleJson(psiClass, null);
                 StringSelection selection = new StringSelection(format);
                 Clipboard clipboard = Toolkit.getDefaultToolkit().getSystemClipboard();
                 clipboard.setContents(selection, selection);
@@ -278,7 +275,7 @@ public class ParamDocEditorForm {
         ParamPsiUtils.buildBodyList(psiClass, null, rootBody);
 
         List<Body> childList = rootBody.getChildList();
-        dataList = DocViewData.buildBodyDataList(childList);
+        dataList = DocViewData.buildBodyDataList(project, childList);
 
         DefaultMutableTreeNode root = new DefaultMutableTreeNode();
 
@@ -8,6 +8,7 @@ import com.intellij.ui.components.labels.LinkLabel;
 import com.intellij.util.ui.JBUI;
 import com.liuzhihang.doc.view.DocViewBundle;
 import com.liuzhihang.doc.view.config.Settings;
+import com.liuzhihang.doc.view.config.WindowSettings;
 import lombok.Getter;
 import org.jetbrains.annotations.NotNull;
 
@@ -71,7 +72,9 @@ public class SettingsForm {
     private JPanel otherPanel;
     private JBTextField prefixSymbol1TextField;
     private JBTextField prefixSymbol2TextField;
+    private JBTextField baseRevisionTextField;
     private JCheckBox separateParamCheckBox;
+    private JCheckBox builtInTemplateCheckBox;
 
     public SettingsForm(@NotNull Project project) {
 
@@ -123,6 +126,8 @@ public class SettingsForm {
                 || !prefixSymbol1TextField.getText().trim().equals(settings.getPrefixSymbol1())
                 || !prefixSymbol2TextField.getText().trim().equals(settings.getPrefixSymbol2())
                 || separateParamCheckBox.isSelected() != settings.getSeparateParam()
+                || builtInTemplateCheckBox.isSelected() != settings.getBuiltInTemplate()
+                || !baseRevisionTextField.getText().trim().equals(WindowSettings.getInstance(project).getBaseRevision())
                 ;
     }
 
@@ -150,6 +155,8 @@ public class SettingsForm {
         settings.setPrefixSymbol1(prefixSymbol1TextField.getText().trim());
         settings.setPrefixSymbol2(prefixSymbol2TextField.getText().trim());
         settings.setSeparateParam(separateParamCheckBox.isSelected());
+        settings.setBuiltInTemplate(builtInTemplateCheckBox.isSelected());
+        WindowSettings.getInstance(project).setBaseRevision(baseRevisionTextField.getText().trim());
 
 
         includeNormalInterfaceCheckBox.setEnabled(lineMarkerCheckBox.isSelected());
@@ -183,6 +190,8 @@ public class SettingsForm {
         prefixSymbol1TextField.setText(settings.getPrefixSymbol1());
         prefixSymbol2TextField.setText(settings.getPrefixSymbol2());
         separateParamCheckBox.setSelected(settings.getSeparateParam());
+        builtInTemplateCheckBox.setSelected(settings.getBuiltInTemplate());
+        baseRevisionTextField.setText(WindowSettings.getInstance(project).getBaseRevision());
 
     }
 
@@ -202,22 +202,35 @@ public class ParamTreeTableView extends TreeTableView {
 
         if (column == 2) {
             paramData.setRequired(String.valueOf(value).equalsIgnoreCase("true"));
-            modifiedMap.put(paramData.getPsiElement(), paramData);
+            markModified(paramData);
         } else if (column == 3) {
             paramData.setFilterable(String.valueOf(value).equalsIgnoreCase("true"));
-            modifiedMap.put(paramData.getPsiElement(), paramData);
+            markModified(paramData);
         }else if (column == 4) {
             paramData.setUpdateable(String.valueOf(value).equalsIgnoreCase("true"));
-            modifiedMap.put(paramData.getPsiElement(), paramData);
+            markModified(paramData);
         }else if (column == 5) {
             paramData.setDesc(String.valueOf(value));
-            modifiedMap.put(paramData.getPsiElement(), paramData);
+            markModified(paramData);
         }
 
         super.setValueAt(value, row, column);
 
     }
 
+    /**
+     * 记录修改过的参数, 参数对应的字段已经被删除时无法回写注释, 不记录
+     *
+     * @param paramData 参数
+     */
+    private void markModified(DocViewParamData paramData) {
+        PsiElement psiElement = paramData.getPsiElement();
+        if (psiElement == null || !psiElement.isValid()) {
+            return;
+        }
+        modifiedMap.put(psiElement, paramData);
+    }
+
     @Override
     public boolean isCellEditable(int row, int column) {
 
@@ -2,18 +2,14 @@ package com.liuzhihang.doc.view.ui.window;
 
 import com.intellij.icons.AllIcons;
 import com.intellij.openapi.project.Project;
-import com.intellij.psi.PsiClass;
-import com.intellij.psi.PsiMethod;
 import com.intellij.ui.treeStructure.SimpleNode;
 import com.intellij.ui.treeStructure.SimpleTree;
-import com.liuzhihang.doc.view.dto.DocView;
-import com.liuzhihang.doc.view.utils.DocViewUtils;
+import com.liuzhihang.doc.view.dto.CatalogSnapshot;
 
 import java.awt.event.InputEvent;
 import java.util.ArrayList;
-import java.util.Collection;
+import java.util.Collections;
 import java.util.List;
-import java.util.stream.Collectors;
 
 /**
  * 目录树上的一个节点
@@ -24,28 +20,18 @@ import java.util.stream.Collectors;
 public class ClassNode extends DocViewNode {
 
     private final List<MethodNode> methodNodes = new ArrayList<>();
-    private final PsiClass         psiClass;
+    private final CatalogSnapshot.ClassItem classItem;
 
-    protected ClassNode(SimpleNode aParent, PsiClass psiClass) {
+    protected ClassNode(SimpleNode aParent, Project project, CatalogSnapshot.ClassItem classItem) {
         super(aParent);
-        this.psiClass = psiClass;
+        this.classItem = classItem;
 
-        getTemplatePresentation().setIcon(psiClass.isInterface() ? AllIcons.Nodes.Interface : AllIcons.Nodes.Class);
-        getTemplatePresentation().setTooltip(DocViewUtils.getTitle(psiClass));
-        updateNode(psiClass.getProject());
-    }
-
-    public void updateNode(Project project) {
-
-        PsiMethod[] methods = psiClass.getMethods();
+        getTemplatePresentation().setIcon(classItem.isInterfaceType() ? AllIcons.Nodes.Interface : AllIcons.Nodes.Class);
+        getTemplatePresentation().setTooltip(classItem.getTitle());
 
-        for (PsiMethod psiMethod : methods) {
-            if (DocViewUtils.isDocViewMethod(psiMethod)) {
-                MethodNode methodNode = new MethodNode(this, psiClass, psiMethod);
-                methodNodes.add(methodNode);
-            }
+        for (CatalogSnapshot.MethodItem methodItem : classItem.getMethodList()) {
+            methodNodes.add(new MethodNode(this, project, classItem, methodItem));
         }
-        update();
     }
 
     @Override
@@ -53,7 +39,7 @@ public class ClassNode extends DocViewNode {
 
         ModuleNode moduleNode = (ModuleNode) getParent();
 
-        return moduleNode.docPath(project) + "/" + DocViewUtils.getTitle(psiClass);
+        return moduleNode.docPath(project) + "/" + classItem.getTitle();
     }
 
     @Override
@@ -61,7 +47,7 @@ public class ClassNode extends DocViewNode {
 
         ModuleNode moduleNode = (ModuleNode) getParent();
 
-        return moduleNode.httpPath(project) + "/" + DocViewUtils.getTitle(psiClass);
+        return moduleNode.httpPath(project) + "/" + classItem.getTitle();
     }
 
     @Override
@@ -71,12 +57,12 @@ public class ClassNode extends DocViewNode {
 
     @Override
     public String getName() {
-        return DocViewUtils.getTitle(psiClass);
+        return classItem.getTitle();
     }
 
     @Override
-    public List<DocView> docViewList() {
-        return methodNodes.stream().map(MethodNode::docViewList).flatMap(Collection::stream).collect(Collectors.toList());
+    public List<MethodNode> methodNodes() {
+        return Collections.unmodifiableList(methodNodes);
     }
 
     @Override
@@ -94,4 +80,4 @@ public class ClassNode extends DocViewNode {
     public void handleDoubleClickOrEnter(SimpleTree tree, InputEvent inputEvent) {
         super.handleDoubleClickOrEnter(tree, inputEvent);
     }
-}
\ No newline at end of file
+}
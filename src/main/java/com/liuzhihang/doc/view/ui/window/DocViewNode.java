@@ -6,6 +6,8 @@ import com.intellij.ui.treeStructure.SimpleNode;
 import com.liuzhihang.doc.view.dto.DocView;
 
 import java.util.List;
+import java.util.Objects;
+import java.util.stream.Collectors;
 
 /**
  * @author liuzhihang
@@ -26,9 +28,25 @@ public abstract class DocViewNode extends CachingSimpleNode {
         return "Doc View";
     }
 
-    public abstract List<DocView> docViewList();
+    /**
+     * 节点下所有的方法节点, 按 模块 -> 类 -> 方法 的顺序
+     *
+     * @return 方法节点
+     */
+    public abstract List<MethodNode> methodNodes();
+
+    public List<DocView> docViewList() {
+        return methodNodes().stream().map(MethodNode::buildDocView).filter(Objects::nonNull).collect(Collectors.toList());
+    }
 
-    public abstract void updateNode(Project project);
+    /**
+     * 节点下所有的文档, 迭代时才逐个生成, 导出时不会同时持有所有的文档
+     *
+     * @return 文档
+     */
+    public Iterable<DocView> docViews() {
+        return () -> methodNodes().stream().map(MethodNode::buildDocView).filter(Objects::nonNull).iterator();
+    }
 
     /**
      * 生成的文档保存路径
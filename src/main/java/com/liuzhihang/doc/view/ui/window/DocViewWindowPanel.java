@@ -11,9 +11,11 @@ import com.intellij.openapi.progress.ProgressIndicator;
 import com.intellij.openapi.progress.ProgressManager;
 import com.intellij.openapi.progress.Task;
 import com.intellij.openapi.project.DumbService;
+import com.intellij.openapi.project.IndexNotReadyException;
 import com.intellij.openapi.project.Project;
 import com.intellij.openapi.ui.SimpleToolWindowPanel;
 import com.intellij.openapi.wm.ToolWindow;
+import com.intellij.openapi.wm.ex.ToolWindowManagerListener;
 import com.intellij.ui.PopupHandler;
 import com.intellij.ui.ScrollPaneFactory;
 import com.intellij.ui.TreeSpeedSearch;
@@ -21,7 +23,10 @@ import com.intellij.ui.tree.AsyncTreeModel;
 import com.intellij.ui.tree.StructureTreeModel;
 import com.intellij.ui.treeStructure.SimpleTree;
 import com.intellij.ui.treeStructure.SimpleTreeStructure;
+import com.intellij.util.messages.MessageBusConnection;
 import com.liuzhihang.doc.view.data.DocViewDataKeys;
+import com.liuzhihang.doc.view.dto.CatalogSnapshot;
+import com.liuzhihang.doc.view.service.CatalogService;
 import lombok.extern.slf4j.Slf4j;
 import org.jetbrains.annotations.NonNls;
 import org.jetbrains.annotations.NotNull;
@@ -29,6 +34,8 @@ import org.jetbrains.annotations.Nullable;
 
 import javax.swing.*;
 import javax.swing.tree.TreeSelectionModel;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
 
 /**
  * @author liuzhihang
@@ -38,6 +45,17 @@ import javax.swing.tree.TreeSelectionModel;
 public class DocViewWindowPanel extends SimpleToolWindowPanel implements DataProvider {
 
     private final RootNode rootNode = new RootNode();
+    private final AtomicBoolean loaded = new AtomicBoolean(false);
+
+    /**
+     * 是否正在扫描
+     */
+    private final AtomicBoolean scanning = new AtomicBoolean(false);
+
+    /**
+     * 等待执行的刷新, 为 null 时没有; true 为增量, false 为全量
+     */
+    private final AtomicReference<Boolean> pendingRefresh = new AtomicReference<>();
 
     private final Project project;
     private final SimpleTree catalogTree;
@@ -68,7 +86,47 @@ public class DocViewWindowPanel extends SimpleToolWindowPanel implements DataPro
 
         setContent(ScrollPaneFactory.createScrollPane(catalogTree));
         new TreeSpeedSearch(catalogTree);
-        updateCatalogTree();
+        initCatalogLoader();
+    }
+
+    /**
+     * 目录树在窗口第一次展示时才开始加载, 不主动打开窗口, 项目启动时不扫描
+     * <p>
+     * 窗口隐藏期间的刷新请求会保留下来, 窗口再次展示时执行
+     */
+    private void initCatalogLoader() {
+
+        MessageBusConnection connection = project.getMessageBus().connect(toolWindow.getDisposable());
+        connection.subscribe(ToolWindowManagerListener.TOPIC, new ToolWindowManagerListener() {
+            @Override
+            public void toolWindowShown(@NotNull ToolWindow shownToolWindow) {
+                if (shownToolWindow.getId().equals(toolWindow.getId())) {
+                    if (loaded.get()) {
+                        scheduleRefresh();
+                    } else {
+                        loadCatalogTree();
+                    }
+                }
+            }
+        });
+
+        if (toolWindow.isVisible()) {
+            loadCatalogTree();
+        }
+    }
+
+    private void loadCatalogTree() {
+        if (loaded.compareAndSet(false, true)) {
+            restoreCatalogTree();
+
+            // 重新建立索引后, 增量校准目录树
+            project.getMessageBus().connect(toolWindow.getDisposable()).subscribe(DumbService.DUMB_MODE, new DumbService.DumbModeListener() {
+                @Override
+                public void exitDumbMode() {
+                    requestRefresh(true);
+                }
+            });
+        }
     }
 
     /**
@@ -83,27 +141,112 @@ public class DocViewWindowPanel extends SimpleToolWindowPanel implements DataPro
         PopupHandler.installPopupMenu(catalogTree, "liuzhihang.doc.tool.window.catalog.action", ActionPlaces.TOOLWINDOW_CONTENT);
     }
 
-    public void updateCatalogTree() {
+    /**
+     * 先展示上一次的目录快照, 再在后台增量校准
+     */
+    private void restoreCatalogTree() {
+        ApplicationManager.getApplication().executeOnPooledThread(() -> {
+            CatalogSnapshot snapshot = CatalogService.getInstance(project).treeSnapshot();
+            if (snapshot != null) {
+                rootNode.updateNode(project, snapshot);
+                treeModel.invalidateAsync();
+            }
+            requestRefresh(true);
+        });
+    }
 
-        DumbService.getInstance(project).smartInvokeLater(() -> {
+    /**
+     * 刷新目录树, 全量扫描
+     */
+    public void updateCatalogTree() {
+        requestRefresh(false);
+    }
 
-            if (toolWindow.isDisposed() || !toolWindow.isVisible()) {
-                toolWindow.show(this::doUpdateCatalogTree);
-            } else {
-                doUpdateCatalogTree();
+    /**
+     * 按当前快照重新生成目录树, 不扫描, 例如切换只显示变更文件后
+     * <p>
+     * 还没有按变更文件扫描过时, 增量扫描一次
+     */
+    public void refilterCatalogTree() {
+        ApplicationManager.getApplication().executeOnPooledThread(() -> {
+            CatalogSnapshot snapshot = CatalogService.getInstance(project).treeSnapshot();
+            if (snapshot == null) {
+                requestRefresh(true);
+                return;
             }
-
+            rootNode.updateNode(project, snapshot);
+            treeModel.invalidateAsync();
         });
     }
 
-    private void doUpdateCatalogTree() {
+    /**
+     * 记录刷新请求, 多次请求合并为一次, 有全量请求时合并后为全量
+     *
+     * @param incremental 是否增量
+     */
+    private void requestRefresh(boolean incremental) {
+        mergePendingRefresh(incremental);
+        scheduleRefresh();
+    }
+
+    private void mergePendingRefresh(boolean incremental) {
+        pendingRefresh.accumulateAndGet(incremental, (pending, current) -> pending == null ? current : pending && current);
+    }
+
+    /**
+     * 索引完成后执行等待中的刷新
+     */
+    private void scheduleRefresh() {
+        // 索引期间继续展示快照, 索引完成后再扫描
+        DumbService.getInstance(project).runWhenSmart(this::startPendingRefresh);
+    }
+
+    /**
+     * 同一时间只有一次扫描; 正在扫描时等待本次扫描结束, 窗口隐藏时等待窗口展示
+     */
+    private void startPendingRefresh() {
+
+        if (toolWindow.isDisposed() || !toolWindow.isVisible() || pendingRefresh.get() == null) {
+            return;
+        }
+
+        if (!scanning.compareAndSet(false, true)) {
+            return;
+        }
+
+        Boolean incremental = pendingRefresh.getAndSet(null);
+        if (incremental == null) {
+            scanning.set(false);
+            return;
+        }
+
         ProgressManager.getInstance().run(new Task.Backgroundable(project, "Doc View Searching") {
             @Override
             public void run(@NotNull ProgressIndicator indicator) {
-                ApplicationManager.getApplication().runReadAction(() -> {
-                    rootNode.updateNode(project);
-                    treeModel.invalidateAsync();
-                });
+                CatalogService catalogService = CatalogService.getInstance(project);
+                try {
+                    catalogService.scan(indicator, incremental);
+                } catch (IndexNotReadyException e) {
+                    // 扫描过程中再次进入索引, 保留当前目录, 索引完成后重试
+                    mergePendingRefresh(incremental);
+                    return;
+                }
+                // 快照包含所有的类, 只显示变更文件时在这里过滤
+                CatalogSnapshot snapshot = catalogService.treeSnapshot();
+                if (snapshot == null) {
+                    return;
+                }
+                rootNode.updateNode(project, snapshot);
+                treeModel.invalidateAsync();
+            }
+
+            @Override
+            public void onFinished() {
+                scanning.set(false);
+                // 扫描期间收到的请求
+                if (pendingRefresh.get() != null) {
+                    scheduleRefresh();
+                }
             }
         });
     }
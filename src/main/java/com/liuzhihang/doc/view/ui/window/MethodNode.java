@@ -5,10 +5,12 @@ import com.intellij.psi.PsiClass;
 import com.intellij.psi.PsiMethod;
 import com.intellij.ui.treeStructure.SimpleNode;
 import com.intellij.ui.treeStructure.SimpleTree;
+import com.liuzhihang.doc.view.dto.CatalogSnapshot;
 import com.liuzhihang.doc.view.dto.DocView;
+import com.liuzhihang.doc.view.service.CatalogService;
 import com.liuzhihang.doc.view.service.DocViewService;
 import com.liuzhihang.doc.view.utils.CustomFileUtils;
-import com.liuzhihang.doc.view.utils.DocViewUtils;
+import org.jetbrains.annotations.Nullable;
 
 import java.awt.event.InputEvent;
 import java.util.Collections;
@@ -16,22 +18,26 @@ import java.util.List;
 
 /**
  * 目录树上的一个节点
+ * <p>
+ * 节点只保存快照中的信息, 需要生成文档时才重新定位 PsiClass 和 PsiMethod
  *
  * @author liuzhihang
  * @date 2022/4/4
  */
 public class MethodNode extends DocViewNode {
 
-    private final PsiMethod psiMethod;
-    private final PsiClass psiClass;
+    private final Project project;
+    private final CatalogSnapshot.ClassItem classItem;
+    private final CatalogSnapshot.MethodItem methodItem;
 
-    protected MethodNode(SimpleNode aParent, PsiClass psiClass, PsiMethod psiMethod) {
+    protected MethodNode(SimpleNode aParent, Project project, CatalogSnapshot.ClassItem classItem, CatalogSnapshot.MethodItem methodItem) {
         super(aParent);
-        this.psiMethod = psiMethod;
-        this.psiClass = psiClass;
+        this.project = project;
+        this.classItem = classItem;
+        this.methodItem = methodItem;
 
         getTemplatePresentation().setIcon(null);
-        getTemplatePresentation().setTooltip(DocViewUtils.getMethodDesc(psiMethod));
+        getTemplatePresentation().setTooltip(methodItem.getDesc());
     }
 
 
@@ -42,19 +48,29 @@ public class MethodNode extends DocViewNode {
 
     @Override
     public String getName() {
-        return DocViewUtils.getName(psiMethod);
+        return methodItem.getName();
     }
 
     @Override
-    public List<DocView> docViewList() {
-        DocViewService service = DocViewService.getInstance(psiClass.getProject(), psiClass);
-        return Collections.singletonList(service.buildClassMethodDoc(psiClass, psiMethod));
-
+    public List<MethodNode> methodNodes() {
+        return Collections.singletonList(this);
     }
 
-    @Override
-    public void updateNode(Project project) {
-
+    /**
+     * 生成当前方法的文档
+     *
+     * @return 文档, 快照中的方法已经被删除时为 null
+     */
+    @Nullable
+    public DocView buildDocView() {
+        PsiClass psiClass = getPsiClass();
+        PsiMethod psiMethod = getPsiMethod();
+        if (psiClass == null || psiMethod == null) {
+            // 快照中的方法已经被删除
+            return null;
+        }
+        DocViewService service = DocViewService.getInstance(project, psiClass);
+        return service.buildClassMethodDoc(psiClass, psiMethod);
     }
 
     @Override
@@ -62,7 +78,7 @@ public class MethodNode extends DocViewNode {
 
         ClassNode classNode = (ClassNode) getParent();
 
-        return classNode.docPath(project) + "/" + DocViewUtils.getName(psiMethod) + ".md";
+        return classNode.docPath(project) + "/" + methodItem.getName() + ".md";
 
     }
 
@@ -71,7 +87,7 @@ public class MethodNode extends DocViewNode {
 
         ClassNode classNode = (ClassNode) getParent();
 
-        return classNode.httpPath(project) + "/" + DocViewUtils.getName(psiMethod) + ".http";
+        return classNode.httpPath(project) + "/" + methodItem.getName() + ".http";
     }
 
     @Override
@@ -87,15 +103,21 @@ public class MethodNode extends DocViewNode {
      */
     @Override
     public void handleDoubleClickOrEnter(SimpleTree tree, InputEvent inputEvent) {
-        CustomFileUtils.openMd(psiClass.getProject(), this);
+        CustomFileUtils.openMd(project, this);
+    }
+
+    public CatalogSnapshot.MethodItem getMethodItem() {
+        return methodItem;
     }
 
+    @Nullable
     public PsiMethod getPsiMethod() {
-        return psiMethod;
+        return CatalogService.getInstance(project).findMethod(classItem, methodItem);
     }
 
+    @Nullable
     public PsiClass getPsiClass() {
-        return psiClass;
+        return CatalogService.getInstance(project).findClass(classItem);
     }
 
-}
\ No newline at end of file
+}
@@ -1,22 +1,13 @@
 package com.liuzhihang.doc.view.ui.window;
 
 import com.intellij.icons.AllIcons;
-import com.intellij.openapi.module.Module;
 import com.intellij.openapi.project.Project;
 import com.intellij.openapi.util.NlsSafe;
-import com.intellij.psi.PsiClass;
-import com.intellij.psi.search.GlobalSearchScope;
-import com.intellij.psi.search.searches.AllClassesSearch;
 import com.intellij.ui.treeStructure.SimpleNode;
-import com.liuzhihang.doc.view.config.Settings;
-import com.liuzhihang.doc.view.dto.DocView;
-import com.liuzhihang.doc.view.utils.DubboPsiUtils;
-import com.liuzhihang.doc.view.utils.FeignPsiUtil;
-import com.liuzhihang.doc.view.utils.SpringPsiUtils;
+import com.liuzhihang.doc.view.dto.CatalogSnapshot;
 
 import java.util.ArrayList;
 import java.util.Collection;
-import java.util.LinkedList;
 import java.util.List;
 import java.util.stream.Collectors;
 
@@ -27,42 +18,18 @@ import java.util.stream.Collectors;
 public class ModuleNode extends DocViewNode {
 
     private final List<ClassNode> classNodes = new ArrayList<>();
-    private final Module          module;
+    private final CatalogSnapshot.ModuleItem moduleItem;
 
-    protected ModuleNode(SimpleNode aParent, Module module) {
+    protected ModuleNode(SimpleNode aParent, Project project, CatalogSnapshot.ModuleItem moduleItem) {
         super(aParent);
-        this.module = module;
+        this.moduleItem = moduleItem;
 
         getTemplatePresentation().setIcon(AllIcons.Nodes.Module);
         getTemplatePresentation().setPresentableText(getName());
-        updateNode(module.getProject());
-    }
-
-    public void updateNode(Project project) {
-        cleanUpCache();
-        classNodes.clear();
-
-        List<PsiClass> psiClasses = new LinkedList<>();
-
-        if (Settings.getInstance(project).getIncludeNormalInterface()) {
-            // 包含普通接口则扫描所有接口
-            List<PsiClass> interfaceList = AllClassesSearch.search(GlobalSearchScope.moduleScope(module), project).findAll()
-                    .stream()
-                    .filter(PsiClass::isInterface)
-                    .collect(Collectors.toList());
-            psiClasses.addAll(interfaceList);
-        } else {
-            psiClasses.addAll(DubboPsiUtils.findDocViewFromModule(module));
-            psiClasses.addAll(FeignPsiUtil.findDocViewFromModule(module));
-        }
-
-        psiClasses.addAll(SpringPsiUtils.findDocViewFromModule(module));
 
-        for (PsiClass psiClass : psiClasses) {
-            ClassNode classNode = new ClassNode(this, psiClass);
-            classNodes.add(classNode);
+        for (CatalogSnapshot.ClassItem classItem : moduleItem.getClassList()) {
+            classNodes.add(new ClassNode(this, project, classItem));
         }
-        update();
     }
 
     @Override
@@ -70,7 +37,7 @@ public class ModuleNode extends DocViewNode {
 
         RootNode rootNode = (RootNode) getParent();
 
-        return rootNode.docPath(project) + "/" + module.getName();
+        return rootNode.docPath(project) + "/" + moduleItem.getName();
     }
 
     @Override
@@ -78,7 +45,7 @@ public class ModuleNode extends DocViewNode {
 
         RootNode rootNode = (RootNode) getParent();
 
-        return rootNode.httpPath(project) + "/" + module.getName();
+        return rootNode.httpPath(project) + "/" + moduleItem.getName();
     }
 
     @Override
@@ -88,11 +55,11 @@ public class ModuleNode extends DocViewNode {
 
     @Override
     public @NlsSafe String getName() {
-        return module.getName();
+        return moduleItem.getName();
     }
 
     @Override
-    public List<DocView> docViewList() {
-        return classNodes.stream().map(ClassNode::docViewList).flatMap(Collection::stream).collect(Collectors.toList());
+    public List<MethodNode> methodNodes() {
+        return classNodes.stream().map(ClassNode::methodNodes).flatMap(Collection::stream).collect(Collectors.toList());
     }
 }
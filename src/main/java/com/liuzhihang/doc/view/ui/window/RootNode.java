@@ -1,11 +1,10 @@
 package com.liuzhihang.doc.view.ui.window;
 
 import com.intellij.icons.AllIcons;
-import com.intellij.openapi.module.Module;
-import com.intellij.openapi.module.ModuleManager;
 import com.intellij.openapi.project.Project;
 import com.intellij.ui.treeStructure.SimpleNode;
-import com.liuzhihang.doc.view.dto.DocView;
+import com.liuzhihang.doc.view.DocViewBundle;
+import com.liuzhihang.doc.view.dto.CatalogSnapshot;
 
 import java.util.ArrayList;
 import java.util.Collection;
@@ -28,18 +27,21 @@ public class RootNode extends DocViewNode {
         getTemplatePresentation().setPresentableText(getName());
     }
 
-    @Override
-    public void updateNode(Project project) {
+    /**
+     * 根据快照重新构造目录树
+     *
+     * @param project  project
+     * @param snapshot 目录快照
+     */
+    public void updateNode(Project project, CatalogSnapshot snapshot) {
         cleanUpCache();
         moduleNodes.clear();
 
-        Module[] modules = ModuleManager.getInstance(project).getModules();
-        for (Module module : modules) {
-            ModuleNode moduleNode = new ModuleNode(this, module);
-            if (moduleNode.getChildCount() > 0) {
-                moduleNodes.add(moduleNode);
-            }
+        for (CatalogSnapshot.ModuleItem moduleItem : snapshot.getModuleList()) {
+            moduleNodes.add(new ModuleNode(this, project, moduleItem));
         }
+        // 快照未校准前提示正在更新
+        getTemplatePresentation().setLocationString(snapshot.isStale() ? DocViewBundle.message("window.catalog.stale") : null);
         update();
     }
 
@@ -63,8 +65,8 @@ public class RootNode extends DocViewNode {
         return "Doc View";
     }
 
-    public List<DocView> docViewList() {
-
-        return moduleNodes.stream().map(ModuleNode::docViewList).flatMap(Collection::stream).collect(Collectors.toList());
+    @Override
+    public List<MethodNode> methodNodes() {
+        return moduleNodes.stream().map(ModuleNode::methodNodes).flatMap(Collection::stream).collect(Collectors.toList());
     }
 }
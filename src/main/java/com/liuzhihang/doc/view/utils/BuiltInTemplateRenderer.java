@@ -0,0 +1,160 @@
+package com.liuzhihang.doc.view.utils;
+
+import com.liuzhihang.doc.view.DocViewBundle;
+import com.liuzhihang.doc.view.dto.DocViewData;
+import org.jetbrains.annotations.NotNull;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+
+/**
+ * 内置模版
+ * <p>
+ * 直接按默认的 Spring 和 Dubbo 模版拼接内容, 输出和 Velocity 渲染默认模版完全一致,
+ * 批量导出和上传时不再通过反射读取 DocViewData 的属性; 自定义的模版仍然使用 Velocity
+ *
+ * @author liuzhihang
+ * @date 2026/10/19
+ */
+public class BuiltInTemplateRenderer {
+
+    /**
+     * 预估的文档长度, 用来预先分配 StringWriter
+     */
+    private static final int CAPACITY = 4096;
+
+    /**
+     * 是否为默认的 Spring 模版
+     *
+     * @param template 模版设置中的 Spring 模版
+     * @return 和默认模版完全一致时为 true
+     */
+    public static boolean isDefaultSpringTemplate(String template) {
+        return DocViewBundle.message("template.spring.init").equals(template);
+    }
+
+    /**
+     * 是否为默认的 Dubbo 模版
+     *
+     * @param template 模版设置中的 Dubbo 模版
+     * @return 和默认模版完全一致时为 true
+     */
+    public static boolean isDefaultDubboTemplate(String template) {
+        return DocViewBundle.message("template.dubbo.init").equals(template);
+    }
+
+    /**
+     * 按默认的 Spring 模版生成文档
+     *
+     * @param data 文档数据
+     * @return Markdown 文本
+     */
+    @NotNull
+    public static String spring(@NotNull DocViewData data) {
+
+        StringWriter writer = new StringWriter(CAPACITY);
+        try {
+            spring(data, writer);
+        } catch (IOException e) {
+            // StringWriter 不会抛出异常
+            throw new UncheckedIOException(e);
+        }
+        return writer.toString();
+    }
+
+    /**
+     * 按默认的 Dubbo 模版生成文档
+     *
+     * @param data 文档数据
+     * @return Markdown 文本
+     */
+    @NotNull
+    public static String dubbo(@NotNull DocViewData data) {
+
+        StringWriter writer = new StringWriter(CAPACITY);
+        try {
+            dubbo(data, writer);
+        } catch (IOException e) {
+            // StringWriter 不会抛出异常
+            throw new UncheckedIOException(e);
+        }
+        return writer.toString();
+    }
+
+    /**
+     * 按默认的 Spring 模版输出到 writer
+     *
+     * @param data   文档数据
+     * @param writer 输出
+     * @throws IOException 写入失败
+     */
+    public static void spring(@NotNull DocViewData data, @NotNull Writer writer) throws IOException {
+
+        appendSummary(writer, data);
+        writer.write("**请求参数:**\n\n- Header\n\n");
+        append(writer, data.getRequestHeader(), "requestHeader");
+        writer.write("\n\n- Param\n\n");
+        append(writer, data.getRequestParam(), "requestParam");
+        writer.write("\n\n- Body\n\n");
+        append(writer, data.getRequestBody(), "requestBody");
+        writer.write("\n\n");
+        appendExample(writer, data);
+    }
+
+    /**
+     * 按默认的 Dubbo 模版输出到 writer
+     *
+     * @param data   文档数据
+     * @param writer 输出
+     * @throws IOException 写入失败
+     */
+    public static void dubbo(@NotNull DocViewData data, @NotNull Writer writer) throws IOException {
+
+        appendSummary(writer, data);
+        writer.write("**请求参数:**\n\n");
+        append(writer, data.getRequestBody(), "requestBody");
+        writer.write("\n\n");
+        appendExample(writer, data);
+    }
+
+    /**
+     * 接口名称、描述、路径和请求方式
+     */
+    private static void appendSummary(Writer writer, DocViewData data) throws IOException {
+        writer.write("**接口名称:**\n\n");
+        append(writer, data.getName(), "name");
+        writer.write("\n\n**接口描述:**\n\n");
+        append(writer, data.getDesc(), "desc");
+        writer.write("\n\n**请求路径:**\n\n");
+        append(writer, data.getPath(), "path");
+        writer.write("\n\n**请求方式:**\n\n");
+        append(writer, data.getMethod(), "method");
+        writer.write("\n\n");
+    }
+
+    /**
+     * 请求示例、返回参数和返回示例
+     */
+    private static void appendExample(Writer writer, DocViewData data) throws IOException {
+        writer.write("**请求示例:**\n\n");
+        append(writer, data.getRequestExample(), "requestExample");
+        writer.write("\n\n**返回参数:**\n\n");
+        append(writer, data.getResponseParam(), "responseParam");
+        writer.write("\n\n**返回示例:**\n\n");
+        append(writer, data.getResponseExample(), "responseExample");
+    }
+
+    /**
+     * 和 Velocity 一致, 值为 null 时原样输出引用
+     */
+    private static void append(Writer writer, String value, String property) throws IOException {
+        if (value == null) {
+            writer.write("${DocView." + property + "}");
+        } else {
+            writer.write(value);
+        }
+    }
+
+}
@@ -0,0 +1,271 @@
+package com.liuzhihang.doc.view.utils;
+
+import com.intellij.execution.ExecutionException;
+import com.intellij.execution.configurations.GeneralCommandLine;
+import com.intellij.execution.process.CapturingProcessHandler;
+import com.intellij.execution.process.ProcessOutput;
+import com.intellij.openapi.diagnostic.Logger;
+import com.intellij.openapi.progress.ProgressManager;
+import com.intellij.openapi.project.Project;
+import com.intellij.openapi.roots.ProjectRootManager;
+import com.intellij.openapi.vcs.changes.ChangeListManager;
+import com.intellij.openapi.vfs.LocalFileSystem;
+import com.intellij.openapi.vfs.VirtualFile;
+import com.intellij.psi.PsiArrayType;
+import com.intellij.psi.PsiClass;
+import com.intellij.psi.PsiClassOwner;
+import com.intellij.psi.PsiClassType;
+import com.intellij.psi.PsiElement;
+import com.intellij.psi.PsiField;
+import com.intellij.psi.PsiFile;
+import com.intellij.psi.PsiManager;
+import com.intellij.psi.PsiMethod;
+import com.intellij.psi.PsiModifier;
+import com.intellij.psi.PsiParameter;
+import com.intellij.psi.PsiReference;
+import com.intellij.psi.PsiReferenceList;
+import com.intellij.psi.PsiType;
+import com.intellij.psi.search.GlobalSearchScope;
+import com.intellij.psi.search.searches.ReferencesSearch;
+import com.intellij.psi.util.PsiTreeUtil;
+import com.intellij.psi.util.PsiUtil;
+import com.liuzhihang.doc.view.config.WindowSettings;
+import org.apache.commons.lang3.StringUtils;
+import org.jetbrains.annotations.NotNull;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+/**
+ * 当前分支变更的文件
+ * <p>
+ * 由本地变更列表和 git diff 基准版本组成, 不访问远程仓库
+ *
+ * @author liuzhihang
+ * @date 2026/10/19
+ */
+public class ChangedFilesUtils {
+
+    private static final Logger LOG = Logger.getInstance(ChangedFilesUtils.class);
+
+    private static final int GIT_TIMEOUT = 10_000;
+
+    /**
+     * 获取变更的文件, 会执行 git 命令, 不要在 read action 中调用
+     *
+     * @param project project
+     * @return 变更的文件
+     */
+    @NotNull
+    public static Set<VirtualFile> changedFiles(@NotNull Project project) {
+
+        Set<VirtualFile> changedFiles = new HashSet<>(ChangeListManager.getInstance(project).getAffectedFiles());
+
+        String baseRevision = WindowSettings.getInstance(project).getBaseRevision();
+        String basePath = project.getBasePath();
+
+        if (StringUtils.isBlank(baseRevision) || basePath == null) {
+            return changedFiles;
+        }
+
+        String revision = baseRevision.trim();
+
+        try {
+            // 以 - 开头的版本会被 git 当做参数, 不是有效的提交时也不执行 diff
+            if (revision.startsWith("-") || !isCommit(basePath, revision)) {
+                LOG.warn("Doc View invalid base revision: " + revision);
+                return changedFiles;
+            }
+
+            GeneralCommandLine commandLine = new GeneralCommandLine("git", "diff", "--name-only", "--relative",
+                    "--end-of-options", revision + "...HEAD")
+                    .withWorkDirectory(basePath)
+                    .withCharset(StandardCharsets.UTF_8);
+
+            ProcessOutput output = new CapturingProcessHandler(commandLine).runProcess(GIT_TIMEOUT);
+
+            if (output.getExitCode() != 0 || output.isTimeout()) {
+                LOG.warn("Doc View git diff error: " + output.getStderr());
+                return changedFiles;
+            }
+
+            for (String line : output.getStdoutLines()) {
+                VirtualFile file = LocalFileSystem.getInstance().findFileByPath(basePath + "/" + line.trim());
+                if (file != null) {
+                    changedFiles.add(file);
+                }
+            }
+        } catch (Exception e) {
+            LOG.warn("Doc View git diff error", e);
+        }
+        return changedFiles;
+    }
+
+    /**
+     * 版本是否为有效的提交
+     */
+    private static boolean isCommit(String basePath, String revision) throws ExecutionException {
+
+        GeneralCommandLine commandLine = new GeneralCommandLine("git", "rev-parse", "--verify", "--quiet",
+                "--end-of-options", revision + "^{commit}")
+                .withWorkDirectory(basePath)
+                .withCharset(StandardCharsets.UTF_8);
+
+        ProcessOutput output = new CapturingProcessHandler(commandLine).runProcess(GIT_TIMEOUT);
+        return output.getExitCode() == 0 && !output.isTimeout();
+    }
+
+    /**
+     * 变更文件中可以生成文档的类, 以及接口参数、返回值中引用了变更的类的类
+     * <p>
+     * 只从变更文件出发查找引用, 不遍历整个项目; 被其他类的字段引用时, 继续查找引用了该类的类,
+     * 例如 User 中的 Address 变更, UserController 的参数中使用了 User
+     *
+     * @param project      project
+     * @param changedFiles 变更的文件
+     * @return 可以生成文档的类, 按查找顺序
+     */
+    @NotNull
+    public static Set<PsiClass> changedDocViewClasses(@NotNull Project project, @NotNull Set<VirtualFile> changedFiles) {
+
+        GlobalSearchScope projectScope = GlobalSearchScope.projectScope(project);
+        PsiManager psiManager = PsiManager.getInstance(project);
+
+        Set<PsiClass> result = new LinkedHashSet<>();
+        Set<PsiClass> visited = new HashSet<>();
+        Deque<PsiClass> queue = new ArrayDeque<>();
+
+        for (VirtualFile file : changedFiles) {
+            if (!file.isValid() || !projectScope.contains(file)) {
+                continue;
+            }
+            PsiFile psiFile = psiManager.findFile(file);
+            if (!(psiFile instanceof PsiClassOwner)) {
+                continue;
+            }
+            for (PsiClass psiClass : ((PsiClassOwner) psiFile).getClasses()) {
+                if (DocViewUtils.isDocViewClass(psiClass)) {
+                    result.add(psiClass);
+                }
+                if (visited.add(psiClass)) {
+                    queue.add(psiClass);
+                }
+            }
+        }
+
+        while (!queue.isEmpty()) {
+            PsiClass changedClass = queue.poll();
+
+            for (PsiReference reference : ReferencesSearch.search(changedClass, projectScope).findAll()) {
+                ProgressManager.checkCanceled();
+
+                PsiElement element = reference.getElement();
+                PsiClass owner = PsiTreeUtil.getParentOfType(element, PsiClass.class);
+                if (owner == null) {
+                    continue;
+                }
+
+                if (PsiTreeUtil.getParentOfType(element, PsiField.class) != null) {
+                    // 字段中引用, 引用了该类的类也视为变更
+                    if (visited.add(owner)) {
+                        queue.add(owner);
+                    }
+                } else if (!result.contains(owner) && DocViewUtils.isDocViewClass(owner)
+                        && (PsiTreeUtil.getParentOfType(element, PsiReferenceList.class) != null || isChanged(owner, changedFiles))) {
+                    // 继承了变更的父类, 或者接口的参数、返回值中使用了变更的类
+                    result.add(owner);
+                }
+            }
+        }
+        return result;
+    }
+
+    /**
+     * 类所在文件有变更, 或者接口的参数、返回值中使用的类有变更, 包含这些类中字段的类型
+     *
+     * @param psiClass     类
+     * @param changedFiles 变更的文件
+     * @return 是否变更
+     */
+    public static boolean isChanged(@NotNull PsiClass psiClass, @NotNull Set<VirtualFile> changedFiles) {
+
+        if (isChangedFile(psiClass, changedFiles)) {
+            return true;
+        }
+
+        // 同一个类中的接口经常使用相同的参数, 已经检查过的类不再重复检查
+        Set<PsiClass> visited = new HashSet<>();
+
+        for (PsiMethod psiMethod : psiClass.getMethods()) {
+            if (!DocViewUtils.isDocViewMethod(psiMethod)) {
+                continue;
+            }
+            for (PsiParameter parameter : psiMethod.getParameterList().getParameters()) {
+                if (isChangedType(parameter.getType(), changedFiles, visited)) {
+                    return true;
+                }
+            }
+            if (isChangedType(psiMethod.getReturnType(), changedFiles, visited)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * 类型本身、泛型参数以及字段中的类是否有变更, 例如 Result<List<User>> 中的 User, 以及 User 中的 Address
+     * <p>
+     * 只检查项目中的类, 依赖库中的类不会出现在变更文件中
+     */
+    private static boolean isChangedType(PsiType psiType, Set<VirtualFile> changedFiles, Set<PsiClass> visited) {
+
+        if (psiType instanceof PsiArrayType) {
+            psiType = psiType.getDeepComponentType();
+        }
+
+        if (!(psiType instanceof PsiClassType)) {
+            return false;
+        }
+
+        PsiClassType classType = (PsiClassType) psiType;
+
+        for (PsiType parameter : classType.getParameters()) {
+            if (isChangedType(parameter, changedFiles, visited)) {
+                return true;
+            }
+        }
+
+        PsiClass psiClass = PsiUtil.resolveClassInType(classType);
+        if (psiClass == null || !isProjectClass(psiClass) || !visited.add(psiClass)) {
+            return false;
+        }
+
+        if (isChangedFile(psiClass, changedFiles)) {
+            return true;
+        }
+
+        for (PsiField psiField : psiClass.getAllFields()) {
+            if (!psiField.hasModifierProperty(PsiModifier.STATIC)
+                    && isChangedType(psiField.getType(), changedFiles, visited)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static boolean isProjectClass(PsiClass psiClass) {
+        PsiFile psiFile = psiClass.getContainingFile();
+        VirtualFile file = psiFile == null ? null : psiFile.getVirtualFile();
+        return file != null && ProjectRootManager.getInstance(psiClass.getProject()).getFileIndex().isInSourceContent(file);
+    }
+
+    private static boolean isChangedFile(PsiClass psiClass, Set<VirtualFile> changedFiles) {
+        PsiFile psiFile = psiClass.getContainingFile();
+        return psiFile != null && psiFile.getVirtualFile() != null && changedFiles.contains(psiFile.getVirtualFile());
+    }
+
+}
@@ -0,0 +1,208 @@
+package com.liuzhihang.doc.view.utils;
+
+import com.intellij.codeInsight.AnnotationUtil;
+import com.intellij.lang.java.JavaLanguage;
+import com.intellij.openapi.roots.ProjectRootManager;
+import com.intellij.psi.PsiAnnotation;
+import com.intellij.psi.PsiAnnotationMemberValue;
+import com.intellij.psi.PsiFile;
+import com.intellij.psi.PsiModifierList;
+import com.intellij.psi.PsiModifierListOwner;
+import com.intellij.psi.util.CachedValueProvider;
+import com.intellij.psi.util.CachedValuesManager;
+import com.intellij.psi.util.PsiModificationTracker;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 注解查找工具类
+ * <p>
+ * 每个类、方法、字段、参数上的注解只解析一次, 按全限定名缓存到所在文件发生变化,
+ * 注解的属性值在第一次读取后也一并缓存
+ *
+ * @author liuzhihang
+ * @date 2026/10/19
+ */
+public class CustomAnnotationUtils {
+
+    /**
+     * 缓存中表示属性值为 null
+     */
+    private static final Object NULL = new Object();
+
+    private CustomAnnotationUtils() {
+    }
+
+    /**
+     * 是否有指定注解, 不检查父类
+     *
+     * @param owner         类、方法、字段或参数
+     * @param qualifiedName 注解全限定名
+     * @return true 有
+     */
+    public static boolean isAnnotated(@Nullable PsiModifierListOwner owner, @NotNull String qualifiedName) {
+        return findAnnotation(owner, qualifiedName) != null;
+    }
+
+    /**
+     * 是否有任意一个指定注解, 不检查父类
+     *
+     * @param owner          类、方法、字段或参数
+     * @param qualifiedNames 注解全限定名
+     * @return true 有
+     */
+    public static boolean isAnnotated(@Nullable PsiModifierListOwner owner, @NotNull Collection<String> qualifiedNames) {
+        return findAnnotation(owner, qualifiedNames) != null;
+    }
+
+    @Nullable
+    public static PsiAnnotation findAnnotation(@Nullable PsiModifierListOwner owner, @NotNull String qualifiedName) {
+        ResolvedAnnotation resolved = annotations(owner).get(qualifiedName);
+        return resolved == null ? null : resolved.annotation;
+    }
+
+    /**
+     * 按注解在代码中的顺序, 返回第一个匹配的注解
+     *
+     * @param owner          类、方法、字段或参数
+     * @param qualifiedNames 注解全限定名
+     * @return 注解
+     */
+    @Nullable
+    public static PsiAnnotation findAnnotation(@Nullable PsiModifierListOwner owner, @NotNull Collection<String> qualifiedNames) {
+        ResolvedAnnotation resolved = find(owner, qualifiedNames);
+        return resolved == null ? null : resolved.annotation;
+    }
+
+    /**
+     * 获取注解的字符串属性值, 会计算常量
+     *
+     * @param owner         类、方法、字段或参数
+     * @param qualifiedName 注解全限定名
+     * @param attributeName 属性名
+     * @return 属性值, 没有注解或没有该属性时为 null
+     * @see AnnotationUtil#getStringAttributeValue(PsiAnnotation, String)
+     */
+    @Nullable
+    public static String getStringAttributeValue(@Nullable PsiModifierListOwner owner,
+                                                 @NotNull String qualifiedName,
+                                                 @NotNull String attributeName) {
+        return getStringAttributeValue(owner, List.of(qualifiedName), attributeName);
+    }
+
+    /**
+     * 获取第一个匹配的注解的字符串属性值
+     *
+     * @param owner          类、方法、字段或参数
+     * @param qualifiedNames 注解全限定名
+     * @param attributeName  属性名
+     * @return 属性值, 没有注解或没有该属性时为 null
+     */
+    @Nullable
+    public static String getStringAttributeValue(@Nullable PsiModifierListOwner owner,
+                                                 @NotNull Collection<String> qualifiedNames,
+                                                 @NotNull String attributeName) {
+        ResolvedAnnotation resolved = find(owner, qualifiedNames);
+        return resolved == null ? null : resolved.stringValue(attributeName);
+    }
+
+    /**
+     * 获取注解属性的原始文本, 包含默认值
+     *
+     * @param owner         类、方法、字段或参数
+     * @param qualifiedName 注解全限定名
+     * @param attributeName 属性名
+     * @return 属性文本, 没有注解或没有该属性时为 null
+     * @see PsiAnnotation#findAttributeValue(String)
+     */
+    @Nullable
+    public static String getAttributeText(@Nullable PsiModifierListOwner owner,
+                                          @NotNull String qualifiedName,
+                                          @NotNull String attributeName) {
+        ResolvedAnnotation resolved = annotations(owner).get(qualifiedName);
+        return resolved == null ? null : resolved.text(attributeName);
+    }
+
+    @Nullable
+    private static ResolvedAnnotation find(@Nullable PsiModifierListOwner owner, @NotNull Collection<String> qualifiedNames) {
+        for (Map.Entry<String, ResolvedAnnotation> entry : annotations(owner).entrySet()) {
+            if (qualifiedNames.contains(entry.getKey())) {
+                return entry.getValue();
+            }
+        }
+        return null;
+    }
+
+    /**
+     * 注解全限定名 -> 注解, 按代码中的顺序, 重复注解只保留第一个
+     */
+    @NotNull
+    private static Map<String, ResolvedAnnotation> annotations(@Nullable PsiModifierListOwner owner) {
+
+        if (owner == null || owner.getModifierList() == null) {
+            return Collections.emptyMap();
+        }
+
+        return CachedValuesManager.getCachedValue(owner, () -> {
+
+            Map<String, ResolvedAnnotation> annotationMap = new LinkedHashMap<>();
+            PsiModifierList modifierList = owner.getModifierList();
+
+            if (modifierList != null) {
+                for (PsiAnnotation annotation : modifierList.getAnnotations()) {
+                    String qualifiedName = annotation.getQualifiedName();
+                    if (qualifiedName != null) {
+                        annotationMap.putIfAbsent(qualifiedName, new ResolvedAnnotation(annotation));
+                    }
+                }
+            }
+
+            // 注解的解析依赖所在文件的 import 以及项目依赖, 属性值可能引用其他文件中的常量
+            PsiFile psiFile = owner.getContainingFile();
+            return CachedValueProvider.Result.create(annotationMap,
+                    psiFile != null ? psiFile : PsiModificationTracker.MODIFICATION_COUNT,
+                    PsiModificationTracker.getInstance(owner.getProject()).forLanguage(JavaLanguage.INSTANCE),
+                    ProjectRootManager.getInstance(owner.getProject()));
+        });
+    }
+
+    /**
+     * 已解析的注解, 属性值在第一次读取时计算
+     */
+    private static class ResolvedAnnotation {
+
+        private final PsiAnnotation annotation;
+
+        private final Map<String, Object> stringValueMap = new ConcurrentHashMap<>();
+
+        private final Map<String, Object> textMap = new ConcurrentHashMap<>();
+
+        private ResolvedAnnotation(PsiAnnotation annotation) {
+            this.annotation = annotation;
+        }
+
+        private String stringValue(String attributeName) {
+            Object value = stringValueMap.computeIfAbsent(attributeName, name -> {
+                String stringValue = AnnotationUtil.getStringAttributeValue(annotation, name);
+                return stringValue == null ? NULL : stringValue;
+            });
+            return value == NULL ? null : (String) value;
+        }
+
+        private String text(String attributeName) {
+            Object value = textMap.computeIfAbsent(attributeName, name -> {
+                PsiAnnotationMemberValue memberValue = annotation.findAttributeValue(name);
+                return memberValue == null ? NULL : memberValue.getText();
+            });
+            return value == NULL ? null : (String) value;
+        }
+    }
+
+}
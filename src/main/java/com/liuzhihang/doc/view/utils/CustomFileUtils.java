@@ -7,10 +7,13 @@ import com.intellij.openapi.application.WriteAction;
 import com.intellij.openapi.command.UndoConfirmationPolicy;
 import com.intellij.openapi.command.WriteCommandAction;
 import com.intellij.openapi.fileEditor.FileEditorManager;
+import com.intellij.openapi.project.DumbService;
 import com.intellij.openapi.project.Project;
 import com.intellij.openapi.util.Computable;
 import com.intellij.openapi.vfs.VfsUtil;
 import com.intellij.openapi.vfs.VirtualFile;
+import com.intellij.psi.PsiClass;
+import com.intellij.psi.PsiMethod;
 import com.liuzhihang.doc.view.DocViewBundle;
 import com.liuzhihang.doc.view.dto.DocView;
 import com.liuzhihang.doc.view.dto.DocViewData;
@@ -44,15 +47,24 @@ public class CustomFileUtils {
             return;
         }
 
-        DocViewService service = DocViewService.getInstance(project, node.getPsiClass());
+        // 索引中无法解析, 只打开上一次生成的文档
+        if (DumbService.isDumb(project)) {
+            openCached(project, node.docPath(project));
+            return;
+        }
+
+        PsiClass psiClass = node.getPsiClass();
+        PsiMethod psiMethod = node.getPsiMethod();
 
-        if (service == null) {
+        if (psiClass == null || psiMethod == null) {
             return;
         }
 
+        DocViewService service = DocViewService.getInstance(project, psiClass);
+
         // 生成接口对应的 markdown 文本
         String markdownText = ApplicationManager.getApplication().runReadAction((Computable<String>) () -> {
-            DocView docView = service.buildClassMethodDoc(node.getPsiClass(), node.getPsiMethod());
+            DocView docView = service.buildClassMethodDoc(psiClass, psiMethod);
             return DocViewData.markdownText(project, docView);
         });
 
@@ -98,15 +110,23 @@ public class CustomFileUtils {
             return;
         }
 
-        DocViewService service = DocViewService.getInstance(project, node.getPsiClass());
+        if (DumbService.isDumb(project)) {
+            openCached(project, node.httpPath(project));
+            return;
+        }
+
+        PsiClass psiClass = node.getPsiClass();
+        PsiMethod psiMethod = node.getPsiMethod();
 
-        if (service == null) {
+        if (psiClass == null || psiMethod == null) {
             return;
         }
 
+        DocViewService service = DocViewService.getInstance(project, psiClass);
+
         // 解析获取 DocView, 从而可以获取接口信息
         DocView docView = ApplicationManager.getApplication().runReadAction(
-                (Computable<DocView>) () -> service.buildClassMethodDoc(node.getPsiClass(), node.getPsiMethod()));
+                (Computable<DocView>) () -> service.buildClassMethodDoc(psiClass, psiMethod));
 
         StringBuilder builder = new StringBuilder();
         builder.append("### Doc View: ").append(docView.getName()).append("\n");
@@ -130,6 +150,24 @@ public class CustomFileUtils {
 
     }
 
+    /**
+     * 打开已经生成过的文件, 不存在时提示等待索引完成
+     *
+     * @param project  项目
+     * @param pathName 文件路径
+     */
+    private static void openCached(Project project, String pathName) {
+        try {
+            VirtualFile virtualFile = ExtensionsRootType.getInstance().findFile(project, pathName, Option.existing_only);
+            if (virtualFile != null && virtualFile.exists()) {
+                FileEditorManager.getInstance(project).openFile(virtualFile, true);
+                return;
+            }
+        } catch (IOException ignored) {
+        }
+        DocViewNotification.notifyInfo(project, DocViewBundle.message("notify.window.dumb.no.cache"));
+    }
+
     /**
      * 打开文件
      *
@@ -3,22 +3,32 @@ package com.liuzhihang.doc.view.utils;
 import com.google.common.collect.Lists;
 import com.intellij.openapi.application.ApplicationManager;
 import com.intellij.openapi.util.Computable;
+import com.intellij.psi.JavaDocTokenType;
 import com.intellij.psi.PsiComment;
 import com.intellij.psi.PsiElement;
 import com.intellij.psi.PsiParameter;
 import com.intellij.psi.javadoc.PsiDocComment;
 import com.intellij.psi.javadoc.PsiDocTag;
 import com.intellij.psi.javadoc.PsiDocTagValue;
+import com.intellij.psi.javadoc.PsiDocToken;
+import com.intellij.psi.util.CachedValueProvider;
+import com.intellij.psi.util.CachedValuesManager;
 import com.liuzhihang.doc.view.constant.FieldTypeConstant;
 import org.apache.commons.lang3.StringUtils;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
+import java.util.HashMap;
 import java.util.Iterator;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * 从注释中解析注解的工具类
+ * <p>
+ * 每个注释只遍历一次, 描述、标签和参数注释的解析结果按注释缓存
  *
  * @author liuzhihang
  * @date 2020/3/18 17:00
@@ -36,24 +46,12 @@ public class CustomPsiCommentUtils {
     public static String tagDocComment(PsiDocComment docComment, String tagName) {
 
         return ApplicationManager.getApplication().runReadAction((Computable<String>) () -> {
-            String comment = "";
 
             if (docComment == null) {
-                return comment;
-            }
-
-            for (PsiElement element : docComment.getChildren()) {
-
-                // 不是 tagName 则继续查找
-                if (!("PsiDocTag:@" + tagName).equalsIgnoreCase(element.toString())) {
-                    continue;
-                }
-
-                return element.getText().replace(("@" + tagName), StringUtils.EMPTY).trim();
-
+                return "";
             }
 
-            return "";
+            return parse(docComment).tag(tagName);
         });
 
 
@@ -71,35 +69,11 @@ public class CustomPsiCommentUtils {
 
         return ApplicationManager.getApplication().runReadAction((Computable<String>) () -> {
 
-            String comment = "";
-
             if (docComment == null) {
-                return comment;
+                return "";
             }
 
-            for (PsiElement element : docComment.getChildren()) {
-
-                // 不是当前字段则继续循环
-                if (!("PsiDocTag:@param").equalsIgnoreCase(element.toString())) {
-                    continue;
-                }
-
-                // 在注释中定位到该参数
-                if (element.getText().startsWith("@param " + parameter.getName())) {
-
-                    String paramWithComment = element.getText();
-
-                    if (paramWithComment.contains("\n")) {
-                        // 该字段后面还有注释
-                        comment = paramWithComment.substring(("@param " + parameter.getName()).length(), element.getText().indexOf("\n"));
-                    } else {
-                        // 该字段后面没有其他注释, 只有 */
-                        comment = paramWithComment.substring(("@param " + parameter.getName()).length());
-                    }
-                }
-            }
-            // 移除前后的空格
-            return comment.trim();
+            return parse(docComment).paramMap.getOrDefault(parameter.getName(), "");
         });
 
     }
@@ -115,20 +89,11 @@ public class CustomPsiCommentUtils {
 
         return ApplicationManager.getApplication().runReadAction((Computable<String>) () -> {
 
-            StringBuilder sb = new StringBuilder();
-
-            if (docComment != null) {
-                for (PsiElement element : docComment.getChildren()) {
-
-                    if (!"PsiDocToken:DOC_COMMENT_DATA".equalsIgnoreCase(element.toString())) {
-                        continue;
-                    }
-                    // 原注释中的换行符移除，移除注释中的 html 标签：<p> </p>
-                    sb.append(element.getText().replaceAll("[* \\n]|<p>|</p>", ""));
-
-                }
+            if (docComment == null) {
+                return "";
             }
-            return sb.toString();
+
+            return parse(docComment).description;
         });
 
     }
@@ -143,16 +108,12 @@ public class CustomPsiCommentUtils {
     public static String tagDocCommentForOneLine(PsiDocComment docComment) {
 
         return ApplicationManager.getApplication().runReadAction((Computable<String>) () -> {
-            if (docComment != null) {
-                for (PsiElement element : docComment.getChildren()) {
 
-                    if ("PsiDocToken:DOC_COMMENT_DATA".equalsIgnoreCase(element.toString())) {
-                        // 只获取第一行注释
-                        return element.getText().replaceAll("[* \n]+", StringUtils.EMPTY);
-                    }
-                }
+            if (docComment == null) {
+                return "";
             }
-            return "";
+
+            return parse(docComment).firstLine;
         });
 
     }
@@ -168,20 +129,154 @@ public class CustomPsiCommentUtils {
     @NotNull
     public static String fieldComment(PsiComment psiComment) {
 
-        return ApplicationManager.getApplication().runReadAction(new Computable<String>() {
-            @Override
-            public String compute() {
-                if (psiComment != null && StringUtils.isNotBlank(psiComment.getText())) {
-                    // 原注释中的换行符移除
-                    return psiComment.getText().replace("/", StringUtils.EMPTY).trim();
+        return ApplicationManager.getApplication().runReadAction((Computable<String>) () -> {
 
-                }
+            if (psiComment == null) {
                 return "";
             }
+
+            // 原注释中的 / 移除
+            return CachedValuesManager.getCachedValue(psiComment, () -> CachedValueProvider.Result.create(
+                    strip(psiComment.getText(), "/", false).trim(), psiComment));
         });
 
     }
 
+    /**
+     * 解析注释, 按注释缓存到所在文件发生变化
+     */
+    @NotNull
+    private static ParsedDocComment parse(@NotNull PsiDocComment docComment) {
+        return CachedValuesManager.getCachedValue(docComment,
+                () -> CachedValueProvider.Result.create(new ParsedDocComment(docComment), docComment));
+    }
+
+    /**
+     * 移除指定字符, 代替 replaceAll("[* \\n]|<p>|</p>", "") 这样的正则
+     *
+     * @param text      原文本
+     * @param chars     需要移除的字符
+     * @param removeTag 是否同时移除 &lt;p&gt; 和 &lt;/p&gt;
+     * @return 处理后的文本
+     */
+    @NotNull
+    private static String strip(String text, String chars, boolean removeTag) {
+
+        if (text == null) {
+            return "";
+        }
+
+        StringBuilder builder = new StringBuilder(text.length());
+        int i = 0;
+        while (i < text.length()) {
+            char c = text.charAt(i);
+            if (chars.indexOf(c) >= 0) {
+                i++;
+            } else if (removeTag && text.startsWith("<p>", i)) {
+                i += 3;
+            } else if (removeTag && text.startsWith("</p>", i)) {
+                i += 4;
+            } else {
+                builder.append(c);
+                i++;
+            }
+        }
+        return builder.toString();
+    }
+
+    /**
+     * 一次遍历注释得到的描述、标签和参数注释
+     */
+    private static class ParsedDocComment {
+
+        /**
+         * 没有 tag 的注释, 移除换行、空格、* 和 &lt;p&gt; 标签
+         */
+        private final String description;
+
+        /**
+         * 第一行没有 tag 的注释
+         */
+        private final String firstLine;
+
+        /**
+         * 小写标签名 -> 第一个该标签的文本
+         */
+        private final Map<String, String> tagTextMap = new HashMap<>();
+
+        /**
+         * 参数名 -> @param 中该参数的注释
+         */
+        private final Map<String, String> paramMap = new HashMap<>();
+
+        /**
+         * 标签名 -> 标签中的注释
+         */
+        private final Map<String, String> tagMap = new ConcurrentHashMap<>();
+
+        private ParsedDocComment(PsiDocComment docComment) {
+
+            StringBuilder descriptionBuilder = new StringBuilder();
+            String first = null;
+
+            for (PsiElement element : docComment.getChildren()) {
+
+                if (element instanceof PsiDocToken
+                        && JavaDocTokenType.DOC_COMMENT_DATA.equals(((PsiDocToken) element).getTokenType())) {
+
+                    String text = element.getText();
+                    if (first == null) {
+                        first = strip(text, "* \n", false);
+                    }
+                    // 原注释中的换行符移除，移除注释中的 html 标签：<p> </p>
+                    descriptionBuilder.append(strip(text, "* \n", true));
+
+                } else if (element instanceof PsiDocTag) {
+
+                    String name = ((PsiDocTag) element).getName();
+                    String text = element.getText();
+                    tagTextMap.putIfAbsent(name.toLowerCase(Locale.ROOT), text);
+
+                    if ("param".equalsIgnoreCase(name)) {
+                        putParam(text);
+                    }
+                }
+            }
+
+            this.description = descriptionBuilder.toString();
+            this.firstLine = first == null ? "" : first;
+        }
+
+        /**
+         * 解析 param 标签, 只取参数名后面同一行的内容, 多个相同参数时取最后一个
+         */
+        private void putParam(String text) {
+
+            int start = "@param".length();
+            while (start < text.length() && Character.isWhitespace(text.charAt(start))) {
+                start++;
+            }
+            int end = start;
+            while (end < text.length() && !Character.isWhitespace(text.charAt(end))) {
+                end++;
+            }
+            if (end == start) {
+                return;
+            }
+
+            int lineEnd = text.indexOf('\n');
+            String comment = lineEnd < 0 ? text.substring(end) : lineEnd > end ? text.substring(end, lineEnd) : "";
+            paramMap.put(text.substring(start, end), comment.trim());
+        }
+
+        private String tag(String tagName) {
+            return tagMap.computeIfAbsent(tagName, name -> {
+                String text = tagTextMap.get(name.toLowerCase(Locale.ROOT));
+                return text == null ? "" : text.replace("@" + name, StringUtils.EMPTY).trim();
+            });
+        }
+    }
+
     /**
      * 构建参数
      *
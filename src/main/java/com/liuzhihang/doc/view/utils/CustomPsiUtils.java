@@ -1,6 +1,9 @@
 package com.liuzhihang.doc.view.utils;
 
+import com.intellij.lang.java.JavaLanguage;
 import com.intellij.openapi.editor.Editor;
+import com.intellij.openapi.roots.ProjectRootManager;
+import com.intellij.openapi.util.Pair;
 import com.intellij.psi.PsiClass;
 import com.intellij.psi.PsiClassType;
 import com.intellij.psi.PsiElement;
@@ -9,16 +12,24 @@ import com.intellij.psi.PsiFile;
 import com.intellij.psi.PsiMethod;
 import com.intellij.psi.PsiModifier;
 import com.intellij.psi.PsiModifierList;
+import com.intellij.psi.PsiSubstitutor;
 import com.intellij.psi.PsiType;
 import com.intellij.psi.PsiTypeParameter;
 import com.intellij.psi.SyntheticElement;
+import com.intellij.psi.util.CachedValueProvider;
+import com.intellij.psi.util.CachedValuesManager;
+import com.intellij.psi.util.PsiModificationTracker;
 import com.intellij.psi.util.PsiTreeUtil;
-import com.intellij.psi.util.PsiUtil;
+import com.intellij.psi.util.TypeConversionUtil;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
-import java.util.HashMap;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
 
 /**
  * @author liuzhihang
@@ -107,25 +118,106 @@ public class CustomPsiUtils {
 
 
     /**
-     * 获取泛型Map, 将泛型的 参数和实际指定的泛型进行对应
+     * 方法参数类型签名, 用于在重载方法中重新定位方法
      *
-     * @param psiClassType 实际返回的填写泛型的代码 Result<User>
-     * @return key 是 泛型参数 T K , value 是实际参数中写的类型
+     * @param psiMethod 方法
+     * @return 例如 java.lang.String,int
      */
-    public static @Nullable Map<String, PsiType> getGenericsMap(@NotNull PsiClassType psiClassType) {
+    @NotNull
+    public static String methodSignature(@NotNull PsiMethod psiMethod) {
+        return Arrays.stream(psiMethod.getParameterList().getParameters())
+                .map(parameter -> parameter.getType().getCanonicalText())
+                .collect(Collectors.joining(","));
+    }
 
-        Map<PsiTypeParameter, PsiType> substitutionMap = PsiUtil.resolveGenericsClassInType(psiClassType).getSubstitutor().getSubstitutionMap();
-        Map<String, PsiType> hashMap = new HashMap<>();
 
-        for (PsiTypeParameter psiTypeParameter : substitutionMap.keySet()) {
-            PsiType psiType = substitutionMap.get(psiTypeParameter);
-            if (psiType instanceof PsiClassType) {
-                System.out.println("name===========>"+psiTypeParameter.getName());
-                hashMap.put(psiTypeParameter.getName(), psiType);
-            }
+    /**
+     * 解析类型中的类和泛型替换
+     *
+     * @param type 类型, 例如 Result<Page<List<User>>>
+     * @return 类和泛型替换, 不是类时为 null
+     */
+    @Nullable
+    public static Pair<PsiClass, PsiSubstitutor> resolveGenerics(@Nullable PsiType type) {
+
+        if (!(type instanceof PsiClassType)) {
+            return null;
+        }
+
+        PsiClassType.ClassResolveResult resolveResult = ((PsiClassType) type).resolveGenerics();
+        PsiClass psiClass = resolveResult.getElement();
+        if (psiClass == null || psiClass instanceof PsiTypeParameter) {
+            return null;
         }
-        return hashMap;
 
+        return Pair.create(psiClass, resolveResult.getSubstitutor());
+    }
+
+    /**
+     * 依赖中的类转换为带注释的源码类, 泛型替换也一并转换
+     *
+     * @param generics 类和泛型替换
+     * @return 源码类和对应的泛型替换, 不是依赖中的类或没有源码时原样返回
+     */
+    @NotNull
+    public static Pair<PsiClass, PsiSubstitutor> withSourceClass(@NotNull Pair<PsiClass, PsiSubstitutor> generics) {
+
+        PsiClass psiClass = generics.getFirst();
+        if (!SpringPsiUtils.isExternal(psiClass)) {
+            return generics;
+        }
+
+        PsiClass sourceClass = LocalSourceJarProcessor.convertToClassWithComments(psiClass);
+        if (sourceClass == null || sourceClass == psiClass) {
+            return generics;
+        }
+
+        // 源码类的泛型参数是新的元素, 按位置对应
+        PsiTypeParameter[] from = psiClass.getTypeParameters();
+        PsiTypeParameter[] to = sourceClass.getTypeParameters();
+        PsiSubstitutor sourceSubstitutor = PsiSubstitutor.EMPTY;
+        for (int i = 0; i < Math.min(from.length, to.length); i++) {
+            sourceSubstitutor = sourceSubstitutor.put(to[i], generics.getSecond().substitute(from[i]));
+        }
+        return Pair.create(sourceClass, sourceSubstitutor);
+    }
+
+    /**
+     * 类中所有字段替换泛型后的类型, 包含父类中的字段
+     * <p>
+     * 按 类 + 泛型替换 缓存, 父类字段的泛型通过父类的泛型替换计算, 例如 Page<T> extends Base<List<T>>
+     *
+     * @param psiClass    类
+     * @param substitutor 类的泛型替换
+     * @return 字段 -> 替换泛型后的类型, 顺序和 getAllFields 一致
+     */
+    @NotNull
+    public static Map<PsiField, PsiType> substitutedFields(@NotNull PsiClass psiClass, @NotNull PsiSubstitutor substitutor) {
+
+        Map<PsiSubstitutor, Map<PsiField, PsiType>> cache = CachedValuesManager.getCachedValue(psiClass,
+                () -> CachedValueProvider.Result.create(new ConcurrentHashMap<PsiSubstitutor, Map<PsiField, PsiType>>(),
+                        PsiModificationTracker.getInstance(psiClass.getProject()).forLanguage(JavaLanguage.INSTANCE),
+                        ProjectRootManager.getInstance(psiClass.getProject())));
+
+        return cache.computeIfAbsent(substitutor, key -> buildSubstitutedFields(psiClass, key));
+    }
+
+    private static Map<PsiField, PsiType> buildSubstitutedFields(PsiClass psiClass, PsiSubstitutor substitutor) {
+
+        Map<PsiField, PsiType> fieldTypeMap = new LinkedHashMap<>();
+
+        for (PsiField field : psiClass.getAllFields()) {
+
+            PsiClass containingClass = field.getContainingClass();
+            PsiSubstitutor fieldSubstitutor = substitutor;
+            if (containingClass != null && !psiClass.equals(containingClass)) {
+                fieldSubstitutor = TypeConversionUtil.getMaybeSuperClassSubstitutor(containingClass, psiClass, substitutor);
+            }
+
+            PsiType fieldType = fieldSubstitutor == null ? null : fieldSubstitutor.substitute(field.getType());
+            fieldTypeMap.put(field, fieldType == null ? field.getType() : fieldType);
+        }
+        return Collections.unmodifiableMap(fieldTypeMap);
     }
 
 
@@ -1,14 +1,20 @@
 package com.liuzhihang.doc.view.utils;
 
-import com.intellij.codeInsight.AnnotationUtil;
+import com.intellij.lang.java.JavaLanguage;
+import com.intellij.lang.xml.XMLLanguage;
 import com.intellij.openapi.application.ApplicationManager;
 import com.intellij.openapi.command.WriteCommandAction;
 import com.intellij.openapi.project.Project;
 import com.intellij.openapi.util.Computable;
+import com.intellij.openapi.util.Key;
 import com.intellij.psi.*;
 import com.intellij.psi.javadoc.PsiDocComment;
 import com.intellij.psi.javadoc.PsiDocTag;
+import com.intellij.psi.util.CachedValue;
+import com.intellij.psi.util.CachedValueProvider;
+import com.intellij.psi.util.CachedValuesManager;
 import com.intellij.psi.util.InheritanceUtil;
+import com.intellij.psi.util.PsiModificationTracker;
 import com.intellij.psi.util.PsiTreeUtil;
 import com.liuzhihang.doc.view.config.Settings;
 import com.liuzhihang.doc.view.constant.JsonPropertyConstant;
@@ -34,6 +40,12 @@ import java.util.Set;
  */
 public class DocViewUtils {
 
+    /**
+     * 是否包含普通接口会影响判断结果, 分别缓存
+     */
+    private static final Key<CachedValue<Boolean>> DOC_VIEW_CLASS_KEY = Key.create("DocView.isDocViewClass");
+    private static final Key<CachedValue<Boolean>> DOC_VIEW_METHOD_KEY = Key.create("DocView.isDocViewMethod");
+
     private DocViewUtils() {
     }
 
@@ -89,6 +101,48 @@ public class DocViewUtils {
         return false;
     }
 
+    /**
+     * 带缓存的 isDocViewClass, Java 或 xml 文件以及相关设置没有变化时直接返回上一次的结果
+     * <p>
+     * 用于 Action 的 update 等频繁调用的场景
+     *
+     * @param psiClass
+     * @return
+     */
+    public static boolean isDocViewClassCached(@Nullable PsiClass psiClass) {
+
+        if (psiClass == null) {
+            return false;
+        }
+
+        return CachedValuesManager.getCachedValue(psiClass, DOC_VIEW_CLASS_KEY,
+                () -> CachedValueProvider.Result.create(isDocViewClass(psiClass), dependencies(psiClass)));
+    }
+
+    /**
+     * 带缓存的 isDocViewMethod
+     *
+     * @param psiMethod
+     * @return
+     * @see #isDocViewClassCached(PsiClass)
+     */
+    public static boolean isDocViewMethodCached(@Nullable PsiMethod psiMethod) {
+
+        if (psiMethod == null) {
+            return false;
+        }
+
+        return CachedValuesManager.getCachedValue(psiMethod, DOC_VIEW_METHOD_KEY,
+                () -> CachedValueProvider.Result.create(isDocViewMethod(psiMethod), dependencies(psiMethod)));
+    }
+
+    private static Object[] dependencies(@NotNull PsiElement element) {
+        PsiModificationTracker tracker = PsiModificationTracker.getInstance(element.getProject());
+        // includeNormalInterface 和包含的类、方法注解修改后重新判断
+        return new Object[]{tracker.forLanguage(JavaLanguage.INSTANCE), tracker.forLanguage(XMLLanguage.INSTANCE),
+                Settings.getInstance(element.getProject()).getModificationTracker()};
+    }
+
     /**
      * 匿名类和内部类可能返回 null
      * <p>
@@ -162,22 +216,16 @@ public class DocViewUtils {
             Settings settings = Settings.getInstance(psiMethod.getProject());
             // swagger v3 @Operation
             if (settings.getNameUseSwagger3()) {
-                PsiAnnotation tagAnnotation = psiMethod.getAnnotation(SwaggerConstant.OPERATION);
-                if (tagAnnotation != null) {
-                    PsiAnnotationMemberValue value = tagAnnotation.findAttributeValue("name");
-                    if (value != null) {
-                        return value.getText().replace("\"", "");
-                    }
+                String value = CustomAnnotationUtils.getAttributeText(psiMethod, SwaggerConstant.OPERATION, "name");
+                if (value != null) {
+                    return value.replace("\"", "");
                 }
             }
             // swagger @ApiOperation
             if (settings.getNameUseSwagger()) {
-                PsiAnnotation apiAnnotation = psiMethod.getAnnotation(SwaggerConstant.API_OPERATION);
-                if (apiAnnotation != null) {
-                    PsiAnnotationMemberValue value = apiAnnotation.findAttributeValue("value");
-                    if (value != null) {
-                        return value.getText().replace("\"", "");
-                    }
+                String value = CustomAnnotationUtils.getAttributeText(psiMethod, SwaggerConstant.API_OPERATION, "value");
+                if (value != null) {
+                    return value.replace("\"", "");
                 }
             }
 
@@ -226,22 +274,16 @@ public class DocViewUtils {
 
             // 从 swagger3 中获取描述
             if (settings.getDescUseSwagger3()) {
-                PsiAnnotation operationAnnotation = psiMethod.getAnnotation(SwaggerConstant.OPERATION);
-                if (operationAnnotation != null) {
-                    PsiAnnotationMemberValue value = operationAnnotation.findAttributeValue("description");
-                    if (value != null) {
-                        return value.getText().replace("\"", "");
-                    }
+                String value = CustomAnnotationUtils.getAttributeText(psiMethod, SwaggerConstant.OPERATION, "description");
+                if (value != null) {
+                    return value.replace("\"", "");
                 }
             }
             // 先从 swagger 中获取描述
             if (settings.getDescUseSwagger()) {
-                PsiAnnotation apiOperationAnnotation = psiMethod.getAnnotation(SwaggerConstant.API_OPERATION);
-                if (apiOperationAnnotation != null) {
-                    PsiAnnotationMemberValue value = apiOperationAnnotation.findAttributeValue("notes");
-                    if (value != null) {
-                        return value.getText().replace("\"", "");
-                    }
+                String value = CustomAnnotationUtils.getAttributeText(psiMethod, SwaggerConstant.API_OPERATION, "notes");
+                if (value != null) {
+                    return value.replace("\"", "");
                 }
             }
             // 最后从注释中获取
@@ -275,12 +317,12 @@ public class DocViewUtils {
             }
 
             // 排除部分注解的字段
-            if (AnnotationUtil.isAnnotated(psiField, settings.getExcludeFieldAnnotation(), 0)) {
+            if (CustomAnnotationUtils.isAnnotated(psiField, settings.getExcludeFieldAnnotation())) {
 
                 return true;
             }
 
-            PsiAnnotation jsonProperty = psiField.getAnnotation("com.fasterxml.jackson.annotation.JsonIgnore");
+            PsiAnnotation jsonProperty = CustomAnnotationUtils.findAnnotation(psiField, "com.fasterxml.jackson.annotation.JsonIgnore");
 
 
             //处理忽略字段
@@ -379,25 +421,19 @@ public class DocViewUtils {
         return ApplicationManager.getApplication().runReadAction((Computable<Boolean>) () -> {
             Settings settings = Settings.getInstance(field.getProject());
 
-            if (AnnotationUtil.isAnnotated(field, settings.getRequiredFieldAnnotation(), 0)) {
+            if (CustomAnnotationUtils.isAnnotated(field, settings.getRequiredFieldAnnotation())) {
                 return true;
             }
 
             // swagger v3 @Schema
-            PsiAnnotation schemaAnnotation = field.getAnnotation(SwaggerConstant.SCHEMA);
-            if (schemaAnnotation != null) {
-                PsiAnnotationMemberValue value = schemaAnnotation.findAttributeValue("required");
-                if (value != null && StringUtils.isNotBlank(value.getText()) && value.getText().contains("true")) {
-                    return true;
-                }
+            String schemaRequired = CustomAnnotationUtils.getAttributeText(field, SwaggerConstant.SCHEMA, "required");
+            if (StringUtils.isNotBlank(schemaRequired) && schemaRequired.contains("true")) {
+                return true;
             }
             // swagger @ApiModelProperty
-            PsiAnnotation apiModelPropertyAnnotation = field.getAnnotation(SwaggerConstant.API_MODEL_PROPERTY);
-            if (apiModelPropertyAnnotation != null) {
-                PsiAnnotationMemberValue value = apiModelPropertyAnnotation.findAttributeValue("required");
-                if (value != null && StringUtils.isNotBlank(value.getText()) && value.getText().contains("true")) {
-                    return true;
-                }
+            String apiModelPropertyRequired = CustomAnnotationUtils.getAttributeText(field, SwaggerConstant.API_MODEL_PROPERTY, "required");
+            if (StringUtils.isNotBlank(apiModelPropertyRequired) && apiModelPropertyRequired.contains("true")) {
+                return true;
             }
 
             if (settings.getRequiredUseCommentTag()) {
@@ -427,12 +463,12 @@ public class DocViewUtils {
         Settings settings = Settings.getInstance(psiParameter.getProject());
 
         // 必填标识
-        if (AnnotationUtil.isAnnotated(psiParameter, settings.getRequiredFieldAnnotation(), 0)) {
+        if (CustomAnnotationUtils.isAnnotated(psiParameter, settings.getRequiredFieldAnnotation())) {
             return true;
         }
 
-        if (AnnotationUtil.isAnnotated(psiParameter, SpringConstant.REQUEST_PARAM, 0)) {
-            PsiAnnotation annotation = psiParameter.getAnnotation(SpringConstant.REQUEST_PARAM);
+        if (CustomAnnotationUtils.isAnnotated(psiParameter, SpringConstant.REQUEST_PARAM)) {
+            PsiAnnotation annotation = CustomAnnotationUtils.findAnnotation(psiParameter, SpringConstant.REQUEST_PARAM);
             if (annotation != null) {
                 // 没有设置注解参数
                 PsiNameValuePair[] nameValuePairs = annotation.getParameterList().getAttributes();
@@ -460,7 +496,7 @@ public class DocViewUtils {
         return ApplicationManager.getApplication().runReadAction((Computable<Boolean>) () -> {
             Settings settings = Settings.getInstance(field.getProject());
 
-            if (AnnotationUtil.isAnnotated(field, settings.getUpdateablebleFieldAnnotation(), 0)) {
+            if (CustomAnnotationUtils.isAnnotated(field, settings.getUpdateablebleFieldAnnotation())) {
                 return true;
             }
             return false;
@@ -477,9 +513,9 @@ public class DocViewUtils {
         return ApplicationManager.getApplication().runReadAction((Computable<Boolean>) () -> {
             Settings settings = Settings.getInstance(field.getProject());
 
-            if (AnnotationUtil.isAnnotated(field, settings.getExistFieldAnnotation(), 0)) {
+            if (CustomAnnotationUtils.isAnnotated(field, settings.getExistFieldAnnotation())) {
 
-                PsiAnnotation tableFieldAnnotation = field.getAnnotation("com.baomidou.mybatisplus.annotation.TableField");
+                PsiAnnotation tableFieldAnnotation = CustomAnnotationUtils.findAnnotation(field, "com.baomidou.mybatisplus.annotation.TableField");
                 PsiAnnotationMemberValue typeHandlerValue = tableFieldAnnotation.findAttributeValue("exist");
                 if (typeHandlerValue != null) {
                     String text = typeHandlerValue.getText();
@@ -502,9 +538,9 @@ public class DocViewUtils {
         return ApplicationManager.getApplication().runReadAction((Computable<Boolean>) () -> {
             Settings settings = Settings.getInstance(field.getProject());
 
-            if (AnnotationUtil.isAnnotated(field, settings.getIdFieldAnnotation(), 0)) {
+            if (CustomAnnotationUtils.isAnnotated(field, settings.getIdFieldAnnotation())) {
 
-                PsiAnnotation idFieldAnnotation = field.getAnnotation("com.baomidou.mybatisplus.annotation.TableId");
+                PsiAnnotation idFieldAnnotation = CustomAnnotationUtils.findAnnotation(field, "com.baomidou.mybatisplus.annotation.TableId");
                 if (idFieldAnnotation != null) {
                     return true;
                 }
@@ -523,8 +559,8 @@ public class DocViewUtils {
         return ApplicationManager.getApplication().runReadAction((Computable<Boolean>) () -> {
             Settings settings = Settings.getInstance(field.getProject());
 
-            if (AnnotationUtil.isAnnotated(field, settings.getJsonFieldAnnotation(), 0)) {
-                PsiAnnotation tableFieldAnnotation = field.getAnnotation("com.baomidou.mybatisplus.annotation.TableField");
+            if (CustomAnnotationUtils.isAnnotated(field, settings.getJsonFieldAnnotation())) {
+                PsiAnnotation tableFieldAnnotation = CustomAnnotationUtils.findAnnotation(field, "com.baomidou.mybatisplus.annotation.TableField");
                 PsiAnnotationMemberValue typeHandlerValue = tableFieldAnnotation.findAttributeValue("typeHandler");
                 if (typeHandlerValue != null) {
                     String text = typeHandlerValue.getText();
@@ -544,7 +580,7 @@ public class DocViewUtils {
         Settings settings = Settings.getInstance(psiParameter.getProject());
 
         // 必填标识
-        if (AnnotationUtil.isAnnotated(psiParameter, settings.getUpdateablebleFieldAnnotation(), 0)) {
+        if (CustomAnnotationUtils.isAnnotated(psiParameter, settings.getUpdateablebleFieldAnnotation())) {
             return true;
         }
         return  false;
@@ -563,7 +599,7 @@ public class DocViewUtils {
         return ApplicationManager.getApplication().runReadAction((Computable<Boolean>) () -> {
             Settings settings = Settings.getInstance(field.getProject());
 
-            if (AnnotationUtil.isAnnotated(field, settings.getFilterableFieldAnnotation(), 0)) {
+            if (CustomAnnotationUtils.isAnnotated(field, settings.getFilterableFieldAnnotation())) {
                 return true;
             }
             return false;
@@ -576,7 +612,7 @@ public class DocViewUtils {
         Settings settings = Settings.getInstance(psiParameter.getProject());
 
         // 必填标识
-        if (AnnotationUtil.isAnnotated(psiParameter, settings.getUpdateablebleFieldAnnotation(), 0)) {
+        if (CustomAnnotationUtils.isAnnotated(psiParameter, settings.getUpdateablebleFieldAnnotation())) {
             return true;
         }
         return  false;
@@ -595,11 +631,11 @@ public class DocViewUtils {
                 return field.getName();
             }
             // 判断是否有注解
-            if (!AnnotationUtil.isAnnotated(field, settings.getFieldNameAnnotation(), 0)) {
+            if (!CustomAnnotationUtils.isAnnotated(field, settings.getFieldNameAnnotation())) {
                 return field.getName();
             }
             // 从注解中解析字段名称
-            PsiAnnotation jsonPropertyAnnotation = field.getAnnotation(JsonPropertyConstant.JSON_PROPERTY);
+            PsiAnnotation jsonPropertyAnnotation = CustomAnnotationUtils.findAnnotation(field, JsonPropertyConstant.JSON_PROPERTY);
             if (jsonPropertyAnnotation != null) {
                 PsiAnnotationMemberValue value = jsonPropertyAnnotation.findAttributeValue("value");
                 if (value != null && StringUtils.isNotBlank(value.getText())) {
@@ -623,7 +659,7 @@ public class DocViewUtils {
 
         return ApplicationManager.getApplication().runReadAction((Computable<String>) () -> {
             // swagger v3 @Schema
-            PsiAnnotation schemaAnnotation = psiField.getAnnotation(SwaggerConstant.SCHEMA);
+            PsiAnnotation schemaAnnotation = CustomAnnotationUtils.findAnnotation(psiField, SwaggerConstant.SCHEMA);
             if (schemaAnnotation != null) {
                 PsiAnnotationMemberValue value = schemaAnnotation.findAttributeValue("description");
                 if (value != null && StringUtils.isNotBlank(value.getText())) {
@@ -631,7 +667,7 @@ public class DocViewUtils {
                 }
             }
             // swagger @ApiModelProperty
-            PsiAnnotation apiModelPropertyAnnotation = psiField.getAnnotation(SwaggerConstant.API_MODEL_PROPERTY);
+            PsiAnnotation apiModelPropertyAnnotation = CustomAnnotationUtils.findAnnotation(psiField, SwaggerConstant.API_MODEL_PROPERTY);
             if (apiModelPropertyAnnotation != null) {
                 PsiAnnotationMemberValue value = apiModelPropertyAnnotation.findAttributeValue("value");
                 if (value != null && StringUtils.isNotBlank(value.getText())) {
@@ -665,7 +701,7 @@ public class DocViewUtils {
             PsiField psiField = (PsiField) element;
 
             // swagger v3 @Schema 直接修改属性
-            PsiAnnotation schemaAnnotation = psiField.getAnnotation(SwaggerConstant.SCHEMA);
+            PsiAnnotation schemaAnnotation = CustomAnnotationUtils.findAnnotation(psiField, SwaggerConstant.SCHEMA);
             if (schemaAnnotation != null) {
                 String annotationText = "";
 
@@ -689,7 +725,7 @@ public class DocViewUtils {
                 return;
             }
             // swagger @ApiModelProperty 直接修改属性
-            PsiAnnotation apiModelPropertyAnnotation = psiField.getAnnotation(SwaggerConstant.API_MODEL_PROPERTY);
+            PsiAnnotation apiModelPropertyAnnotation = CustomAnnotationUtils.findAnnotation(psiField, SwaggerConstant.API_MODEL_PROPERTY);
             if (apiModelPropertyAnnotation != null) {
 
                 String annotationText = "";
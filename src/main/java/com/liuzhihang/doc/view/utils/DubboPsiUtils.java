@@ -1,26 +1,22 @@
 package com.liuzhihang.doc.view.utils;
 
-import com.intellij.codeInsight.AnnotationUtil;
 import com.intellij.openapi.application.ApplicationManager;
 import com.intellij.openapi.application.NonBlockingReadAction;
 import com.intellij.openapi.application.impl.NonBlockingReadActionImpl;
 import com.intellij.openapi.module.Module;
 import com.intellij.openapi.project.Project;
+import com.intellij.openapi.util.Pair;
 import com.intellij.psi.*;
-import com.intellij.psi.impl.java.stubs.index.JavaAnnotationIndex;
 import com.intellij.psi.javadoc.PsiDocTag;
 import com.intellij.psi.search.GlobalSearchScope;
-import com.intellij.psi.search.searches.ClassInheritorsSearch;
 import com.intellij.psi.util.InheritanceUtil;
 import com.intellij.psi.util.PsiTreeUtil;
 import com.intellij.psi.util.PsiTypesUtil;
 import com.intellij.psi.util.PsiUtil;
-import com.intellij.util.xml.DomFileElement;
-import com.intellij.util.xml.DomService;
-import com.liuzhihang.doc.view.constant.DubboConstant;
 import com.liuzhihang.doc.view.constant.FieldTypeConstant;
-import com.liuzhihang.doc.view.dom.BeansDomElement;
 import com.liuzhihang.doc.view.dto.Body;
+import com.liuzhihang.doc.view.dto.ParameterClassification;
+import com.liuzhihang.doc.view.service.DubboServiceRegistry;
 import org.apache.commons.lang3.StringUtils;
 import org.jetbrains.annotations.NotNull;
 
@@ -40,6 +36,7 @@ public class DubboPsiUtils {
      *
      * @param psiClass
      * @return
+     * @see DubboServiceRegistry
      */
     public static boolean isDubboClass(@NotNull PsiClass psiClass) {
 
@@ -47,30 +44,7 @@ public class DubboPsiUtils {
             return false;
         }
 
-
-        // 包含相关注解, 则是 Dubbo 接口
-        if (AnnotationUtil.isAnnotated(psiClass, DubboConstant.SERVICE_ANNOTATIONS, 0)) {
-            return true;
-        }
-        // 实现类上要有注解
-        if (ClassInheritorsSearch.search(psiClass).findAll()
-                .stream()
-                .anyMatch(psiClass1 -> AnnotationUtil.isAnnotated(psiClass1, DubboConstant.SERVICE_ANNOTATIONS, 0))) {
-            return true;
-        }
-
-        Project project = psiClass.getProject();
-
-        // xml 中的所有配置
-        List<DomFileElement<BeansDomElement>> fileElements = DomService.getInstance().getFileElements(BeansDomElement.class, project, GlobalSearchScope.allScope(project));
-
-        // 只需要判断namespace
-        String qualifiedName = psiClass.getQualifiedName();
-
-        return fileElements.stream().anyMatch(elements ->
-                elements.getRootElement().getDubboServiceDomElements()
-                        .stream()
-                        .anyMatch(dubboServiceDomElement -> Objects.requireNonNull(dubboServiceDomElement.getInterface().getRawText()).equals(qualifiedName)));
+        return DubboServiceRegistry.getInstance(psiClass.getProject()).isDubboInterface(psiClass);
     }
 
     /**
@@ -95,21 +69,17 @@ public class DubboPsiUtils {
 
 
     public static List<PsiClass> findDocViewFromModule(Module module) {
+        return findDocViewClasses(module.getProject(), GlobalSearchScope.moduleScope(module));
+    }
 
-        Collection<PsiAnnotation> psiAnnotations = JavaAnnotationIndex.getInstance().get("Service", module.getProject(), GlobalSearchScope.moduleScope(module));
-        psiAnnotations.addAll(JavaAnnotationIndex.getInstance().get("DubboService", module.getProject(), GlobalSearchScope.moduleScope(module)));
-
-        List<PsiClass> psiClasses = new LinkedList<>();
-
-        for (PsiAnnotation psiAnnotation : psiAnnotations) {
-            PsiModifierList psiModifierList = (PsiModifierList) psiAnnotation.getParent();
-            PsiElement psiElement = psiModifierList.getParent();
+    public static List<PsiClass> findDocViewClasses(Project project, GlobalSearchScope scope) {
 
-            if (psiElement instanceof PsiClass && isDubboClass((PsiClass) psiElement)) {
-                psiClasses.add((PsiClass) psiElement);
-            }
-        }
-        return psiClasses;
+        return DubboServiceRegistry.getInstance(project).getInterfaces()
+                .stream()
+                .filter(psiClass -> psiClass.getContainingFile() != null
+                        && psiClass.getContainingFile().getVirtualFile() != null
+                        && scope.contains(psiClass.getContainingFile().getVirtualFile()))
+                .collect(Collectors.toList());
     }
 
     @NotNull
@@ -118,8 +88,6 @@ public class DubboPsiUtils {
         Body root = new Body();
         root.setQualifiedNameForClassType(Objects.requireNonNull(psiMethod.getContainingClass()).getQualifiedName());
 
-        PsiParameter[] parameters = psiMethod.getParameterList().getParameters();
-
         // @param 注释
         List<PsiDocTag> paramTags = new ArrayList<>();
         Optional<PsiDocTag> sinceTag = Optional.empty();
@@ -130,9 +98,10 @@ public class DubboPsiUtils {
              versionTag = Arrays.stream(psiMethod.getDocComment().getTags()).filter(a -> a.getName().equals("version")).findFirst();
         }
 
-        for (PsiParameter parameter : parameters) {
+        for (ParameterClassification.Item item : ParamPsiUtils.classifyParameters(psiMethod).documented()) {
 
-            PsiType type = parameter.getType();
+            PsiParameter parameter = item.getParameter();
+            PsiType type = item.getType();
 
             // 集合
             Body body = new Body();
@@ -151,34 +120,32 @@ public class DubboPsiUtils {
 
             root.getChildList().add(body);
 
-            PsiClass childClass = null;
+            // 子字段所在的类和泛型替换
+            Pair<PsiClass, PsiSubstitutor> childGenerics = null;
 
             // 基本类型
-            if (type instanceof PsiPrimitiveType || FieldTypeConstant.FIELD_TYPE.containsKey(type.getPresentableText())) {
+            if (item.isSimple()) {
 
             } else if (InheritanceUtil.isInheritor(type, CommonClassNames.JAVA_UTIL_COLLECTION)) {
                 PsiType iterableType = PsiUtil.extractIterableTypeParameter(type, false);
-                childClass = PsiUtil.resolveClassInClassTypeOnly(iterableType);
-
-                body.setPsiElement(childClass);
+                childGenerics = CustomPsiUtils.resolveGenerics(iterableType);
 
             } else if (InheritanceUtil.isInheritor(type, CommonClassNames.JAVA_UTIL_MAP)) {
                 //  map
                 PsiType matValueType = PsiUtil.substituteTypeParameter(type, CommonClassNames.JAVA_UTIL_MAP, 1, false);
-                childClass = PsiUtil.resolveClassInClassTypeOnly(matValueType);
-
-                body.setPsiElement(childClass);
+                childGenerics = CustomPsiUtils.resolveGenerics(matValueType);
 
             } else if (type instanceof PsiClassType) {
                 // 对象
-                childClass = PsiUtil.resolveClassInClassTypeOnly(type);
-
-                body.setPsiElement(childClass);
+                childGenerics = CustomPsiUtils.resolveGenerics(type);
 
             } else {
                 // 未知类型
             }
 
+            PsiClass childClass = childGenerics == null ? null : childGenerics.getFirst();
+            body.setPsiElement(childClass);
+
             if (childClass != null) {
 
                 // 判断 childClass 是否已经在根节点到当前节点的链表上存在, 存在的话则不继续递归
@@ -187,43 +154,60 @@ public class DubboPsiUtils {
 
                 if (StringUtils.isNotBlank(qualifiedName) && !ParamPsiUtils.checkLinkedListHasTypeClass(body, qualifiedName)) {
                     body.setQualifiedNameForClassType(qualifiedName);
-                    for (PsiField psiField : childClass.getAllFields()) {
-                        if (!DocViewUtils.isExcludeField(psiField)) {
-                            ParamPsiUtils.buildBodyParam(psiField, null, body, new HashMap<>());
+                    for (Map.Entry<PsiField, PsiType> entry : CustomPsiUtils.substitutedFields(childClass, childGenerics.getSecond()).entrySet()) {
+                        if (!DocViewUtils.isExcludeField(entry.getKey())) {
+                            ParamPsiUtils.buildBodyParam(entry.getKey(), entry.getValue(), body, new HashMap<>());
                         }
                     }
                 }
             }
         }
 
-        return root;
+        return root.compact();
     }
 
+    /**
+     * 请求参数示例
+     * <p>
+     * 只有一个对象参数时直接展示对象的字段, 否则每个参数按参数名展示
+     *
+     * @param psiMethod 方法
+     * @return json
+     */
     @NotNull
     public static String getReqBodyJson(@NotNull PsiMethod psiMethod) {
 
-        PsiParameter[] parameters = psiMethod.getParameterList().getParameters();
+        List<ParameterClassification.Item> items = ParamPsiUtils.classifyParameters(psiMethod).documented();
 
-        Map<String, Object> fieldMap = new LinkedHashMap<>();
+        if (items.isEmpty()) {
+            return "{}";
+        }
+
+        if (items.size() == 1 && !items.get(0).isSimple() && items.get(0).getPsiClass() != null) {
+            return ParamPsiUtils.exampleJson(items.get(0).getType());
+        }
 
-        for (PsiParameter parameter : parameters) {
+        return GsonFormatUtil.gsonFormat(writer -> {
 
-            String name = parameter.getName();
-            PsiType type = parameter.getType();
+            writer.beginObject();
 
-            if (type instanceof PsiPrimitiveType) {
-                fieldMap.put(name, PsiTypesUtil.getDefaultValue(type));
-            } else if (FieldTypeConstant.FIELD_TYPE.containsKey(type.getPresentableText())) {
-                fieldMap.put(name, FieldTypeConstant.FIELD_TYPE.get(type.getPresentableText()));
-            } else {
-                PsiClass psiClass = PsiUtil.resolveClassInType(type);
-                if (psiClass != null) {
-                    fieldMap = ParamPsiUtils.getFieldsAndDefaultValue(psiClass, null);
+            for (ParameterClassification.Item item : items) {
+
+                PsiType type = item.getType();
+
+                if (type instanceof PsiPrimitiveType) {
+                    writer.name(item.getName());
+                    GsonFormatUtil.writeValue(writer, PsiTypesUtil.getDefaultValue(type));
+                } else if (item.isSimple()) {
+                    writer.name(item.getName());
+                    GsonFormatUtil.writeValue(writer, FieldTypeConstant.FIELD_TYPE.get(type.getPresentableText()));
+                } else if (item.getPsiClass() != null) {
+                    writer.name(item.getName());
+                    ParamPsiUtils.writeFieldsAndDefaultValue(writer, type);
                 }
             }
-            return GsonFormatUtil.gsonFormat(fieldMap);
-        }
 
-        return "{}";
+            writer.endObject();
+        });
     }
 }
@@ -14,7 +14,9 @@ import com.liuzhihang.doc.view.notification.DocViewNotification;
 
 import java.io.File;
 import java.io.IOException;
-import java.util.List;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
 
 /**
  * @author liuzhihang
@@ -51,7 +53,7 @@ public class ExportUtils {
 
     }
 
-    public static void batchExportMarkdown(Project project, String className, List<DocView> docViewList) {
+    public static void batchExportMarkdown(Project project, String className, Iterable<DocView> docViewList) {
 
         Settings settings = Settings.getInstance(project);
 
@@ -78,8 +80,11 @@ public class ExportUtils {
                         DocViewBundle.message("notify.export.file.cover"))) {
                     return;
                 }
-                for (DocView docView : docViewList) {
-                    FileUtil.writeToFile(file, DocViewData.markdownText(project, docView), true);
+                // 所有文档依次写入同一个文件, 不在内存中拼接
+                try (Writer writer = newWriter(file)) {
+                    for (DocView docView : docViewList) {
+                        DocViewData.markdownText(project, docView, writer);
+                    }
                 }
             } else {
                 for (DocView docView : docViewList) {
@@ -92,7 +97,9 @@ public class ExportUtils {
                         return;
                     }
 
-                    FileUtil.writeToFile(file, DocViewData.markdownText(project, docView), true);
+                    try (Writer writer = newWriter(file)) {
+                        DocViewData.markdownText(project, docView, writer);
+                    }
                 }
 
             }
@@ -106,5 +113,17 @@ public class ExportUtils {
 
     }
 
+    /**
+     * 导出文件的 writer, 文件已存在时覆盖
+     *
+     * @param file 导出的文件
+     * @return 带缓冲的 writer
+     * @throws IOException 创建文件失败
+     */
+    public static Writer newWriter(File file) throws IOException {
+        FileUtil.createParentDirs(file);
+        return Files.newBufferedWriter(file.toPath(), StandardCharsets.UTF_8);
+    }
+
 
 }
@@ -1,7 +1,7 @@
 package com.liuzhihang.doc.view.utils;
 
-import com.intellij.codeInsight.AnnotationUtil;
 import com.intellij.openapi.module.Module;
+import com.intellij.openapi.project.Project;
 import com.intellij.psi.PsiAnnotation;
 import com.intellij.psi.PsiClass;
 import com.intellij.psi.PsiElement;
@@ -30,12 +30,16 @@ public class FeignPsiUtil {
     public static boolean isFeignClass(@NotNull PsiClass psiClass) {
 
         // 必须匹配是 Feign 注解才可以
-        return psiClass.isInterface() && AnnotationUtil.isAnnotated(psiClass, SpringConstant.FEIGN_CLIENT, 0);
+        return psiClass.isInterface() && CustomAnnotationUtils.isAnnotated(psiClass, SpringConstant.FEIGN_CLIENT);
     }
 
     public static List<PsiClass> findDocViewFromModule(Module module) {
+        return findDocViewClasses(module.getProject(), GlobalSearchScope.moduleScope(module));
+    }
+
+    public static List<PsiClass> findDocViewClasses(Project project, GlobalSearchScope scope) {
 
-        Collection<PsiAnnotation> psiAnnotations = JavaAnnotationIndex.getInstance().get("FeignClient", module.getProject(), GlobalSearchScope.moduleScope(module));
+        Collection<PsiAnnotation> psiAnnotations = JavaAnnotationIndex.getInstance().get("FeignClient", project, scope);
 
         List<PsiClass> psiClasses = new LinkedList<>();
 
@@ -16,12 +16,97 @@ import java.util.Collection;
 
 /**
  * 对 Gson 进行修改主要是修改 newJsonWriter中的缩进
+ * <p>
+ * Gson 线程安全, 全局共用一个实例; 示例 json 通过 {@link JsonContent} 直接写入 JsonWriter, 不再先生成 Map
  *
  * @author liuzhihang
  * @date 2019/5/9 11:07
  */
 public class GsonFormatUtil {
 
+    private static final Gson GSON = new GsonBuilder()
+            .setExclusionStrategies(new JacksonAnnotationExclusionStrategy())
+            .create();
+
+    /**
+     * 超过该长度的缓冲区用完后不再复用, 避免一次大的导出一直占用内存
+     */
+    private static final int MAX_BUFFER_CAPACITY = 64 * 1024;
+
+    /**
+     * 每个线程复用的缓冲区
+     */
+    private static final ThreadLocal<Buffer> BUFFER = ThreadLocal.withInitial(Buffer::new);
+
+    /**
+     * 缓冲区和是否正在使用, 写入过程中又生成其他 json 时不能复用
+     */
+    private static final class Buffer {
+
+        private final StringBuilder builder = new StringBuilder(1024);
+
+        private boolean inUse;
+    }
+
+    /**
+     * 写入 json 内容
+     */
+    @FunctionalInterface
+    public interface JsonContent {
+
+        void write(JsonWriter writer) throws IOException;
+    }
+
+    /**
+     * 直接写入 JsonWriter 生成格式化后的 json
+     *
+     * @param content json 内容
+     * @return json 字符串, 写入失败时为 {}
+     */
+    @NotNull
+    public static String gsonFormat(@NotNull JsonContent content) {
+
+        Buffer pool = BUFFER.get();
+        // 缓冲区正在使用时, 例如写入过程中又生成了其他 json, 使用新的缓冲区
+        boolean pooled = !pool.inUse;
+        StringBuilder buffer = pooled ? pool.builder : new StringBuilder(1024);
+        pool.inUse = true;
+
+        try {
+            JsonWriter jsonWriter = newJsonWriter(Streams.writerForAppendable(buffer));
+            // 和 Gson 默认配置一致
+            jsonWriter.setHtmlSafe(true);
+            content.write(jsonWriter);
+            jsonWriter.flush();
+            return buffer.toString();
+        } catch (IOException e) {
+            return "{}";
+        } finally {
+            if (pooled) {
+                buffer.setLength(0);
+                pool.inUse = false;
+                if (buffer.capacity() > MAX_BUFFER_CAPACITY) {
+                    BUFFER.remove();
+                }
+            }
+        }
+    }
+
+    /**
+     * 写入一个值, 例如字段的默认值
+     *
+     * @param writer JsonWriter
+     * @param value  值, null 时按照设置不输出
+     * @throws IOException 写入失败
+     */
+    public static void writeValue(@NotNull JsonWriter writer, Object value) throws IOException {
+        if (value == null) {
+            writer.nullValue();
+        } else {
+            GSON.toJson(value, value.getClass(), writer);
+        }
+    }
+
     @NotNull
     public static String gsonFormat(Gson gson, JsonElement jsonElement) throws IOException {
         StringWriter writer = new StringWriter();
@@ -34,11 +119,7 @@ public class GsonFormatUtil {
 
 //        Gson gson = new GsonBuilder().serializeNulls().create();
 
-        Gson gson = new GsonBuilder()
-                .setExclusionStrategies(new JacksonAnnotationExclusionStrategy())
-                .create();
-
-        return gsonFormat(gson, src);
+        return gsonFormat(GSON, src);
     }
 
     @NotNull
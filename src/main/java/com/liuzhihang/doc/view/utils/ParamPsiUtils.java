@@ -1,19 +1,33 @@
 package com.liuzhihang.doc.view.utils;
 
+import com.google.gson.stream.JsonWriter;
+import com.intellij.lang.java.JavaLanguage;
+import com.intellij.openapi.roots.ProjectRootManager;
+import com.intellij.openapi.util.Pair;
 import com.intellij.psi.*;
-import com.intellij.psi.impl.source.PsiClassReferenceType;
+import com.intellij.psi.util.CachedValueProvider;
+import com.intellij.psi.util.CachedValuesManager;
 import com.intellij.psi.util.InheritanceUtil;
+import com.intellij.psi.util.PropertyUtilBase;
+import com.intellij.psi.util.PsiModificationTracker;
+import com.intellij.psi.util.PsiTreeUtil;
 import com.intellij.psi.util.PsiTypesUtil;
 import com.intellij.psi.util.PsiUtil;
+import com.liuzhihang.doc.view.config.Settings;
 import com.liuzhihang.doc.view.constant.FieldTypeConstant;
+import com.liuzhihang.doc.view.constant.JsonPropertyConstant;
+import com.liuzhihang.doc.view.constant.SpringConstant;
 import com.liuzhihang.doc.view.dto.Body;
+import com.liuzhihang.doc.view.dto.EnumDescriptor;
+import com.liuzhihang.doc.view.dto.ParameterClassification;
 import org.apache.commons.lang3.ObjectUtils;
 import org.apache.commons.lang3.StringUtils;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 
+import java.io.IOException;
 import java.util.*;
 
-import static com.liuzhihang.doc.view.utils.SpringPsiUtils.isExternal;
 
 /**
  * 参数处理工具
@@ -23,15 +37,25 @@ import static com.liuzhihang.doc.view.utils.SpringPsiUtils.isExternal;
  */
 public class ParamPsiUtils {
 
+    /**
+     * MyBatis-Plus 中枚举存入数据库的字段
+     */
+    private static final String ENUM_VALUE = "com.baomidou.mybatisplus.annotation.EnumValue";
+
+    /**
+     * 没有注解时作为枚举 code 的字段名, 按顺序查找
+     */
+    private static final List<String> ENUM_CODE_FIELD_NAMES = List.of("code", "value");
+
     /**
      * 生成 body，生成响应也是在这递归的
      * 核心方法
      *
-     * @param field       字段
-     * @param genericsMap key 是泛型 value 是对应的类型
-     * @param parent      父字段
+     * @param field  字段
+     * @param type   字段替换泛型后的类型, 例如 T -> UserDTO   List<T> -> List<UserDTO>
+     * @param parent 父字段
      */
-    public static void buildBodyParam(PsiField field, Map<String, PsiType> genericsMap, Body parent, Map<String, Boolean> parentChildPair) {
+    public static void buildBodyParam(PsiField field, PsiType type, Body parent, Map<String, Boolean> parentChildPair) {
 
         String type1 = parent.getType();
         String qualifiedNameForClassType = parent.getQualifiedNameForClassType();
@@ -43,7 +67,6 @@ public class ParamPsiUtils {
         parentChildPair.put(pair, true);
 
 
-        PsiType type = field.getType();
         Body body = new Body();
         body.setRequired(DocViewUtils.isRequired(field));
         body.setName(DocViewUtils.fieldName(field));
@@ -99,21 +122,13 @@ public class ParamPsiUtils {
             return;
         }
 
-        // 提前替换字段比如 T -> UserDTO   List<T> -> List<UserDTO>
-        // 如果是泛型, 且泛型字段是当前字段, 将当前字段类型替换为泛型类型, 替换完之后重新设置 body 的 type
-        type = replaceFieldType(genericsMap, type);
-        String presentableText = type.getPresentableText();
-        body.setType(presentableText);
-
         // 剩下都是 PsiClass 类型处理
-        PsiClass fieldClass = PsiUtil.resolveClassInClassTypeOnly(type);
-        if (fieldClass != null) {
-            if (isExternal(fieldClass)) {
-                fieldClass = LocalSourceJarProcessor.convertToClassWithComments(fieldClass);
-            }
-        } else {
+        Pair<PsiClass, PsiSubstitutor> fieldGenerics = CustomPsiUtils.resolveGenerics(type);
+        if (fieldGenerics == null) {
             return;
         }
+        fieldGenerics = CustomPsiUtils.withSourceClass(fieldGenerics);
+        PsiClass fieldClass = fieldGenerics.getFirst();
 
         // 判断 childClass 是否已经在根节点到当前节点的链表上存在, 存在的话则不继续递归
         String qualifiedName = fieldClass.getQualifiedName();
@@ -123,7 +138,7 @@ public class ParamPsiUtils {
         }
 
         body.setQualifiedNameForClassType(qualifiedName);
-        Map<String, PsiType> fieldGenericsMap;
+        Pair<PsiClass, PsiSubstitutor> childGenerics;
         PsiClass childClass;
         Body parentBody;
         // List Set or HashSet
@@ -134,12 +149,12 @@ public class ParamPsiUtils {
             if (ignoreField(iterableType)) {
                 return;
             }
-            childClass = PsiUtil.resolveClassInClassTypeOnly(iterableType);
-            if (childClass == null) {
+            // 集合参数构建, 集合就一个参数, 泛型 E
+            childGenerics = CustomPsiUtils.resolveGenerics(iterableType);
+            if (childGenerics == null) {
                 return;
             }
-            // 集合参数构建, 集合就一个参数, 泛型 E
-            fieldGenericsMap = CustomPsiUtils.getGenericsMap((PsiClassType) iterableType);
+            childClass = childGenerics.getFirst();
             parentBody = buildFieldGenericsBody("element", childClass, body);
             parentBody.setCollection(true);
 
@@ -164,23 +179,26 @@ public class ParamPsiUtils {
             if (ignoreField(matValueType)) {
                 return;
             }
-            childClass = PsiUtil.resolveClassInClassTypeOnly(matValueType);
-            if (childClass == null) {
+            childGenerics = CustomPsiUtils.resolveGenerics(matValueType);
+            if (childGenerics == null) {
                 return;
             }
+            childClass = childGenerics.getFirst();
 
-            fieldGenericsMap = CustomPsiUtils.getGenericsMap((PsiClassType) matValueType);
             parentBody = buildFieldGenericsBody("value", childClass, body);
 
             parentBody.setMap(true);
 
         } else if (fieldClass.isEnum() || fieldClass.isInterface() || fieldClass.isAnnotationType()) {
-            // 字段是类, 也可能带泛型
+            // 枚举在描述后面追加可选值
+            if (fieldClass.isEnum()) {
+                body.setDesc(enumDescriptor(fieldClass).describe(body.getDesc()));
+            }
             return;
 
         } else {
             // 当前字段的泛型 和当前字段
-            fieldGenericsMap = CustomPsiUtils.getGenericsMap((PsiClassType) type);
+            childGenerics = fieldGenerics;
             parentBody = body;
             childClass = fieldClass;
         }
@@ -189,78 +207,13 @@ public class ParamPsiUtils {
             return;
         }
 
-//        PsiField[] allFields = childClass.getAllFields();
-
-        for (PsiField psiField : childClass.getAllFields()) {
-            if (!DocViewUtils.isExcludeField(psiField)) {
-                buildBodyParam(psiField, fieldGenericsMap, parentBody, parentChildPair);
-            }
-        }
-
-    }
-
-    /**
-     * 判断当前字段是否含有泛型, 从泛型映射表中替换字段类型
-     * <p>
-     * 替换字段比如 T -> UserDTO   List<T> -> List<UserDTO>
-     *
-     * @param genericsMap 含有泛型的 Map
-     * @param type        当前字段的类型
-     * @return
-     */
-    private static PsiType replaceFieldType(Map<String, PsiType> genericsMap, PsiType type) {
-
-        if (genericsMap == null || genericsMap.isEmpty()) {
-            return type;
-        }
-
-        if (!(type instanceof PsiClassType)) {
-            return type;
-        }
-
-        if (!(type instanceof PsiClassReferenceType)) {
-            return type;
-        }
-
-        // 当前字段的类型就是泛型 private T data;
-        if (genericsMap.containsKey(type.getPresentableText())) {
-            return genericsMap.get(type.getPresentableText());
-        }
-
-        //todo
-        //有时候拿不到泛型的类型
-        // 当前字段含有泛型 List<T> -> List<UserDTO>
-        PsiClass fieldClass = PsiUtil.resolveClassInClassTypeOnly(type);
-
-        if (fieldClass == null || !fieldClass.hasTypeParameters()) {
-            return type;
-        }
-
-        PsiType[] parameters = ((PsiClassType) type).getParameters();
-
-        List<PsiType> psiTypeList = new ArrayList<>();
-        // 替换泛型为实际类型
-        for (PsiType psiType : parameters) {
-
-            if (genericsMap.get(psiType.getPresentableText()) == null) {
-                psiTypeList.add(psiType);
-            } else {
-                psiTypeList.add(genericsMap.get(psiType.getPresentableText()));
+        // 子字段的泛型由当前类型的泛型替换得到, Result<Page<List<User>>> 逐层替换
+        for (Map.Entry<PsiField, PsiType> entry : CustomPsiUtils.substitutedFields(childClass, childGenerics.getSecond()).entrySet()) {
+            if (!DocViewUtils.isExcludeField(entry.getKey())) {
+                buildBodyParam(entry.getKey(), entry.getValue(), parentBody, parentChildPair);
             }
         }
 
-        if (!psiTypeList.isEmpty()) {
-
-            PsiType[] psiTypes = new PsiType[psiTypeList.size()];
-
-            for (int i = 0; i < psiTypeList.size(); i++) {
-                psiTypes[i] = psiTypeList.get(i);
-            }
-
-            return PsiElementFactory.getInstance(fieldClass.getProject()).createType(fieldClass, psiTypes);
-        }
-
-        return type;
     }
 
     @NotNull
@@ -354,92 +307,84 @@ public class ParamPsiUtils {
     }
 
     /**
-     * 获取字段的默认值
+     * 写入字段的默认值
      *
+     * @param writer            JsonWriter
      * @param psiClass          当前类
-     * @param genericMap        泛型
+     * @param substitutor       当前类的泛型替换, 为 null 时不替换
      * @param qualifiedNameList 根节点到当前节点的链表
-     * @return 字段默认值
+     * @throws IOException 写入失败
      */
-    public static Map<String, Object> getFieldsAndDefaultValue(PsiClass psiClass, Map<String, PsiType> genericMap, LinkedList<String> qualifiedNameList) {
+    public static void writeFieldsAndDefaultValue(JsonWriter writer, PsiClass psiClass, PsiSubstitutor substitutor,
+                                                  LinkedList<String> qualifiedNameList) throws IOException {
 
-        Map<String, Object> fieldMap = new LinkedHashMap<>();
+        writer.beginObject();
 
         if (psiClass == null || psiClass.isEnum() || psiClass.isInterface() || psiClass.isAnnotationType()) {
-            return fieldMap;
+            writer.endObject();
+            return;
         }
 
         // 设置当前类的类型
         qualifiedNameList.add(psiClass.getQualifiedName());
-        for (PsiField field : psiClass.getAllFields()) {
+        Map<PsiField, PsiType> fieldTypeMap = CustomPsiUtils.substitutedFields(psiClass,
+                substitutor == null ? PsiSubstitutor.EMPTY : substitutor);
+
+        // 同名字段 (例如子类隐藏父类字段) 只输出一次, 位置取第一个, 类型取最后一个
+        Map<String, PsiType> nameTypeMap = new LinkedHashMap<>();
+        for (Map.Entry<PsiField, PsiType> entry : fieldTypeMap.entrySet()) {
+            if (!DocViewUtils.isExcludeField(entry.getKey())) {
+                nameTypeMap.put(DocViewUtils.fieldName(entry.getKey()), entry.getValue());
+            }
+        }
 
+        for (Map.Entry<String, PsiType> entry : nameTypeMap.entrySet()) {
 
-            if (DocViewUtils.isExcludeField(field)) {
-                continue;
-            }
-            PsiType type = field.getType();
-            String name = DocViewUtils.fieldName(field);
+            // 字段类型已经替换了泛型
+            PsiType type = entry.getValue();
+            writer.name(entry.getKey());
             if (type instanceof PsiPrimitiveType) {
                 // 基本类型
-                fieldMap.put(name, PsiTypesUtil.getDefaultValue(type));
+                GsonFormatUtil.writeValue(writer, PsiTypesUtil.getDefaultValue(type));
                 continue;
             }
 
-            // 如果是泛型, 且泛型字段是当前字段, 将当前字段类型替换为泛型类型
-            //又一个替换泛型？
-            type = replaceFieldType(genericMap, type);
-
             // 引用类型
             String fieldTypeName = type.getPresentableText();
             // 指定的类型
             if (FieldTypeConstant.FIELD_TYPE.containsKey(fieldTypeName)) {
-                fieldMap.put(name, FieldTypeConstant.FIELD_TYPE.get(fieldTypeName));
+                GsonFormatUtil.writeValue(writer, FieldTypeConstant.FIELD_TYPE.get(fieldTypeName));
             } else if (type instanceof PsiArrayType) {
                 // 数组类型
-                List<Object> list = new ArrayList<>();
+                writer.beginArray();
                 PsiType deepType = type.getDeepComponentType();
                 if (deepType instanceof PsiPrimitiveType) {
-                    list.add(PsiTypesUtil.getDefaultValue(deepType));
+                    GsonFormatUtil.writeValue(writer, PsiTypesUtil.getDefaultValue(deepType));
                 } else if (FieldTypeConstant.FIELD_TYPE.containsKey(deepType.getPresentableText())) {
-                    list.add(FieldTypeConstant.FIELD_TYPE.get(deepType.getPresentableText()));
+                    GsonFormatUtil.writeValue(writer, FieldTypeConstant.FIELD_TYPE.get(deepType.getPresentableText()));
                 } else {
                     // 参数类型为对象 校验是否递归
-                    PsiClass classInType = PsiUtil.resolveClassInType(deepType);
-
-                    LinkedList<String> temp = new LinkedList<>(qualifiedNameList);
-                    if (classInType != null && hasContainQualifiedName(temp, classInType.getQualifiedName())) {
-                        list.add("Object for " + classInType.getName());
-                    } else {
-                        list.add(getFieldsAndDefaultValue(classInType, null, temp));
-                    }
+                    writeObject(writer, CustomPsiUtils.resolveGenerics(deepType), qualifiedNameList);
                 }
-                fieldMap.put(name, list);
+                writer.endArray();
             } else if (InheritanceUtil.isInheritor(type, CommonClassNames.JAVA_UTIL_COLLECTION)) {
                 // List Set or HashSet
-                List<Object> list = new ArrayList<>();
+                writer.beginArray();
                 PsiType iterableType = PsiUtil.extractIterableTypeParameter(type, false);
-                PsiClass iterableClass = PsiUtil.resolveClassInClassTypeOnly(iterableType);
-                if (iterableClass != null) {
-                    String classTypeName = iterableClass.getName();
+                Pair<PsiClass, PsiSubstitutor> generics = CustomPsiUtils.resolveGenerics(iterableType);
+                if (generics != null) {
+                    String classTypeName = generics.getFirst().getName();
                     if (FieldTypeConstant.FIELD_TYPE.containsKey(classTypeName)) {
-                        list.add(FieldTypeConstant.FIELD_TYPE.get(classTypeName));
+                        GsonFormatUtil.writeValue(writer, FieldTypeConstant.FIELD_TYPE.get(classTypeName));
                     } else {
-
                         // 参数类型为对象 校验是否递归
-                        LinkedList<String> temp = new LinkedList<>(qualifiedNameList);
-                        if (hasContainQualifiedName(temp, iterableClass.getQualifiedName())) {
-                            list.add("Object for " + iterableClass.getName());
-                        } else {
-                            list.add(getFieldsAndDefaultValue(iterableClass, null, temp));
-                        }
-
+                        writeObject(writer, generics, qualifiedNameList);
                     }
                 }
-                fieldMap.put(name, list);
+                writer.endArray();
             } else if (InheritanceUtil.isInheritor(type, CommonClassNames.JAVA_UTIL_MAP)) {
                 // HashMap or Map
-
-                HashMap<String, Object> hashMap = new HashMap<>(4);
+                writer.beginObject();
 
                 PsiType matKeyType = PsiUtil.substituteTypeParameter(type, CommonClassNames.JAVA_UTIL_MAP, 0, false);
 
@@ -448,36 +393,42 @@ public class ParamPsiUtils {
                     // Value
                     PsiType matValueType = PsiUtil.substituteTypeParameter(type, CommonClassNames.JAVA_UTIL_MAP, 1, false);
                     if (!ignoreField(matValueType)) {
-                        PsiClass valueClass = PsiUtil.resolveClassInClassTypeOnly(matValueType);
-                        if (valueClass != null) {
-                            LinkedList<String> temp = new LinkedList<>(qualifiedNameList);
-                            hashMap.put(matKeyType.getPresentableText(), getFieldsAndDefaultValue(valueClass, CustomPsiUtils.getGenericsMap((PsiClassType) matValueType), temp));
+                        Pair<PsiClass, PsiSubstitutor> generics = CustomPsiUtils.resolveGenerics(matValueType);
+                        if (generics != null) {
+                            writer.name(matKeyType.getPresentableText());
+                            writeFieldsAndDefaultValue(writer, generics.getFirst(), generics.getSecond(),
+                                    new LinkedList<>(qualifiedNameList));
                         }
                     }
-
                 }
 
-                fieldMap.put(name, hashMap);
-
-            } else if (psiClass.isEnum() || psiClass.isInterface() || psiClass.isAnnotationType()) {
-                // enum or interface
-                fieldMap.put(name, "");
+                writer.endObject();
             } else {
-
                 // 参数类型为对象 校验是否递归
-                PsiClass classInType = PsiUtil.resolveClassInType(type);
-
-                LinkedList<String> temp = new LinkedList<>(qualifiedNameList);
-                if (classInType != null && hasContainQualifiedName(temp, classInType.getQualifiedName())) {
-                    fieldMap.put(name, "Object for " + classInType.getName());
-                } else {
-                    fieldMap.put(name, getFieldsAndDefaultValue(PsiUtil.resolveClassInType(type), CustomPsiUtils.getGenericsMap((PsiClassType) type), temp));
-                }
-
+                writeObject(writer, CustomPsiUtils.resolveGenerics(type), qualifiedNameList);
             }
+        }
+
+        writer.endObject();
+    }
 
+    /**
+     * 写入对象类型的字段, 出现递归时写入 "Object for 类名", 枚举写入第一个可选值
+     */
+    private static void writeObject(JsonWriter writer, Pair<PsiClass, PsiSubstitutor> generics,
+                                    LinkedList<String> qualifiedNameList) throws IOException {
+
+        if (generics == null) {
+            writer.beginObject().endObject();
+        } else if (generics.getFirst().isEnum()) {
+            // 枚举使用第一个可选值
+            GsonFormatUtil.writeValue(writer, enumDescriptor(generics.getFirst()).example());
+        } else if (hasContainQualifiedName(qualifiedNameList, generics.getFirst().getQualifiedName())) {
+            writer.value("Object for " + generics.getFirst().getName());
+        } else {
+            writeFieldsAndDefaultValue(writer, generics.getFirst(), generics.getSecond(),
+                    new LinkedList<>(qualifiedNameList));
         }
-        return fieldMap;
     }
 
     private static boolean hasContainQualifiedName(LinkedList<String> qualifiedNameList, String qualifiedName) {
@@ -498,16 +449,45 @@ public class ParamPsiUtils {
 
 
     /**
-     * 获取字段和字段的默认值
+     * 写入类型中字段和字段的默认值, 会替换类型中的泛型
+     *
+     * @param writer JsonWriter
+     * @param type   类型, 例如 Result<Page<User>>
+     * @throws IOException 写入失败
+     */
+    public static void writeFieldsAndDefaultValue(JsonWriter writer, PsiType type) throws IOException {
+
+        Pair<PsiClass, PsiSubstitutor> generics = CustomPsiUtils.resolveGenerics(type);
+        if (generics == null) {
+            writer.beginObject().endObject();
+            return;
+        }
+        writeFieldsAndDefaultValue(writer, generics.getFirst(), generics.getSecond(), new LinkedList<>());
+    }
+
+    /**
+     * 类的示例 json, 字段使用默认值
      *
      * @param psiClass
-     * @param genericMap
-     * @return
+     * @param substitutor 泛型替换, 为 null 时不替换
+     * @return 格式化后的 json
      */
     @NotNull
-    public static Map<String, Object> getFieldsAndDefaultValue(PsiClass psiClass, Map<String, PsiType> genericMap) {
+    public static String exampleJson(PsiClass psiClass, PsiSubstitutor substitutor) {
 
-        return getFieldsAndDefaultValue(psiClass, genericMap, new LinkedList<>());
+        return GsonFormatUtil.gsonFormat(writer -> writeFieldsAndDefaultValue(writer, psiClass, substitutor, new LinkedList<>()));
+    }
+
+    /**
+     * 类型的示例 json, 字段使用默认值, 会替换类型中的泛型
+     *
+     * @param type 类型, 例如 Result<Page<User>>
+     * @return 格式化后的 json, 不是类时为 {}
+     */
+    @NotNull
+    public static String exampleJson(PsiType type) {
+
+        return GsonFormatUtil.gsonFormat(writer -> writeFieldsAndDefaultValue(writer, type));
     }
 
     /**
@@ -527,7 +507,7 @@ public class ParamPsiUtils {
             body.setType(returnType.getPresentableText());
             body.setParent(root);
             root.getChildList().add(body);
-            return root;
+            return root.compact();
         }
 
         if (returnType instanceof PsiClassType psiClassType) {
@@ -548,47 +528,47 @@ public class ParamPsiUtils {
                     if (parameters.length != 0) {
                         PsiType psiType = parameters[0];
                         if (psiType instanceof PsiPrimitiveType || FieldTypeConstant.FIELD_TYPE.containsKey(psiType.getPresentableText())) {
-                            return root;
+                            return root.compact();
                         }
                         // 泛型是类
-                        PsiClass genericsPsiClass = PsiUtil.resolveClassInClassTypeOnly(psiType);
-                        if (genericsPsiClass != null) {
-                            buildBodyList(genericsPsiClass, null, collectionBody);
+                        Pair<PsiClass, PsiSubstitutor> generics = CustomPsiUtils.resolveGenerics(psiType);
+                        if (generics != null) {
+                            buildBodyList(generics.getFirst(), generics.getSecond(), collectionBody);
                         }
                     }
                 } else {
-                    // 返回值可能是带泛型的, psiClassType.getParameters() 获取到的
-                    Map<String, PsiType> genericMap = CustomPsiUtils.getGenericsMap(psiClassType);
-                    buildBodyList(psiClass, genericMap, root);
+                    // 返回值可能是带泛型的, 例如 Result<Page<User>>
+                    buildBodyList(psiClass, psiClassType.resolveGenerics().getSubstitutor(), root);
                 }
             }
         }
 //        LocalSourceJarProcessor.unmarkAllSourceRootDirectly();
-        return root;
+        return root.compact();
     }
 
 
     /**
      * 返回的body
+     *
+     * @param substitutor 泛型替换, 为 null 时不替换
      */
-    public static void buildBodyList(@NotNull PsiClass psiClass, Map<String, PsiType> genericMap, Body parent) {
+    public static void buildBodyList(@NotNull PsiClass psiClass, PsiSubstitutor substitutor, Body parent) {
 
-        if (psiClass != null) {
-            if (isExternal(psiClass)) {
-                psiClass = LocalSourceJarProcessor.convertToClassWithComments(psiClass);
-            }
-        } else {
+        if (psiClass == null) {
             return;
         }
 
-        for (PsiField field : psiClass.getAllFields()) {
+        Pair<PsiClass, PsiSubstitutor> generics = CustomPsiUtils.withSourceClass(
+                Pair.create(psiClass, substitutor == null ? PsiSubstitutor.EMPTY : substitutor));
+
+        for (Map.Entry<PsiField, PsiType> entry : CustomPsiUtils.substitutedFields(generics.getFirst(), generics.getSecond()).entrySet()) {
 
-            if (DocViewUtils.isExcludeField(field)) {
+            if (DocViewUtils.isExcludeField(entry.getKey())) {
                 continue;
             }
 
             //真正执行的在这
-            ParamPsiUtils.buildBodyParam(field, genericMap, parent, new HashMap<>());
+            ParamPsiUtils.buildBodyParam(entry.getKey(), entry.getValue(), parent, new HashMap<>());
         }
 
     }
@@ -629,17 +609,14 @@ public class ParamPsiUtils {
                         return "[\"\"]";
                     }
 
-                    PsiClass iterableClass = PsiUtil.resolveClassInClassTypeOnly(iterableType);
-                    Map<String, Object> fieldMap = ParamPsiUtils.getFieldsAndDefaultValue(iterableClass, null);
-
-                    Object[] objectArr = {fieldMap};
-
-                    return GsonFormatUtil.gsonFormat(objectArr);
+                    return GsonFormatUtil.gsonFormat(writer -> {
+                        writer.beginArray();
+                        writeFieldsAndDefaultValue(writer, iterableType);
+                        writer.endArray();
+                    });
                 } else {
 
-                    Map<String, PsiType> genericsMap = CustomPsiUtils.getGenericsMap(psiClassType);
-                    Map<String, Object> fieldMap = ParamPsiUtils.getFieldsAndDefaultValue(psiClass, genericsMap);
-                    return GsonFormatUtil.gsonFormat(fieldMap);
+                    return exampleJson(psiClassType);
                 }
             }
         } else {
@@ -649,4 +626,217 @@ public class ParamPsiUtils {
         return "";
     }
 
+    /**
+     * 方法参数分类, 按方法缓存
+     * <p>
+     * 排除规则和参数注解只在这里判断一次, Spring、Feign 和 Dubbo 构建文档时都从分类结果读取
+     *
+     * @param psiMethod 方法
+     * @return 参数分类
+     */
+    @NotNull
+    public static ParameterClassification classifyParameters(@NotNull PsiMethod psiMethod) {
+
+        return CachedValuesManager.getCachedValue(psiMethod, () -> CachedValueProvider.Result.create(
+                doClassifyParameters(psiMethod),
+                PsiModificationTracker.getInstance(psiMethod.getProject()).forLanguage(JavaLanguage.INSTANCE),
+                ProjectRootManager.getInstance(psiMethod.getProject()),
+                // 设置中排除的参数类型和名称变化后重新分类
+                Settings.getInstance(psiMethod.getProject()).getModificationTracker()));
+    }
+
+    /**
+     * 方法参数分类, 参数类型使用泛型替换后的类型
+     * <p>
+     * 类中自身的方法使用按方法的缓存; 继承的方法在每个子类中的替换不同, 每次重新分类
+     *
+     * @param psiMethod   方法, 可能是从父类继承的方法
+     * @param substitutor 父类泛型到当前类的替换
+     * @return 参数分类
+     */
+    @NotNull
+    public static ParameterClassification classifyParameters(@NotNull PsiMethod psiMethod, @NotNull PsiSubstitutor substitutor) {
+        if (substitutor == PsiSubstitutor.EMPTY) {
+            return classifyParameters(psiMethod);
+        }
+        return doClassifyParameters(psiMethod, substitutor);
+    }
+
+    private static ParameterClassification doClassifyParameters(@NotNull PsiMethod psiMethod) {
+        return doClassifyParameters(psiMethod, PsiSubstitutor.EMPTY);
+    }
+
+    private static ParameterClassification doClassifyParameters(@NotNull PsiMethod psiMethod, @NotNull PsiSubstitutor substitutor) {
+
+        ParameterClassification classification = new ParameterClassification();
+
+        for (PsiParameter parameter : psiMethod.getParameterList().getParameters()) {
+
+            PsiType type = substitutor.substitute(parameter.getType());
+            ParameterClassification.Kind kind;
+
+            if (DocViewUtils.isExcludeParameter(parameter)) {
+                kind = ParameterClassification.Kind.IGNORED;
+            } else if (CustomAnnotationUtils.isAnnotated(parameter, SpringConstant.REQUEST_HEADER)) {
+                kind = ParameterClassification.Kind.HEADER;
+            } else if (CustomAnnotationUtils.isAnnotated(parameter, SpringConstant.REQUEST_BODY)) {
+                kind = ParameterClassification.Kind.BODY;
+            } else if (CustomAnnotationUtils.isAnnotated(parameter, SpringConstant.PATH_VARIABLE)) {
+                kind = ParameterClassification.Kind.PATH;
+            } else if (CustomAnnotationUtils.isAnnotated(parameter, SpringConstant.REQUEST_PART)
+                    || InheritanceUtil.isInheritor(type, "org.springframework.core.io.InputStreamSource")) {
+                kind = ParameterClassification.Kind.FORM;
+            } else {
+                kind = ParameterClassification.Kind.QUERY;
+            }
+
+            boolean simple = type instanceof PsiPrimitiveType
+                    || FieldTypeConstant.FIELD_TYPE.containsKey(type.getPresentableText());
+
+            classification.getItemList().add(new ParameterClassification.Item(parameter, kind, type,
+                    simple ? null : PsiUtil.resolveClassInClassTypeOnly(type), simple));
+        }
+        return classification;
+    }
+
+    /**
+     * 枚举的可选值, 按枚举类缓存到 Java 文件修改
+     * <p>
+     * 构造参数可能引用其他文件中的常量, 所以不能只依赖枚举所在文件
+     *
+     * @param enumClass 枚举类
+     * @return 枚举常量、code 和注释
+     */
+    @NotNull
+    public static EnumDescriptor enumDescriptor(@NotNull PsiClass enumClass) {
+        return CachedValuesManager.getCachedValue(enumClass, () -> CachedValueProvider.Result.create(
+                doEnumDescriptor(enumClass),
+                PsiModificationTracker.getInstance(enumClass.getProject()).forLanguage(JavaLanguage.INSTANCE)));
+    }
+
+    /**
+     * 类型是枚举时返回可选值
+     *
+     * @param type 字段类型
+     * @return 不是枚举时为 null
+     */
+    @Nullable
+    public static EnumDescriptor enumDescriptor(@Nullable PsiType type) {
+        PsiClass psiClass = PsiUtil.resolveClassInClassTypeOnly(type);
+        return psiClass != null && psiClass.isEnum() ? enumDescriptor(psiClass) : null;
+    }
+
+    private static EnumDescriptor doEnumDescriptor(@NotNull PsiClass enumClass) {
+
+        PsiField codeField = enumCodeField(enumClass);
+        boolean jsonValue = codeField != null && isJsonValue(enumClass, codeField);
+
+        List<EnumDescriptor.Constant> constantList = new ArrayList<>();
+
+        for (PsiField field : enumClass.getFields()) {
+            if (!(field instanceof PsiEnumConstant constant)) {
+                continue;
+            }
+
+            PsiExpression[] arguments = constant.getArgumentList() == null
+                    ? PsiExpression.EMPTY_ARRAY : constant.getArgumentList().getExpressions();
+            PsiMethod constructor = constant.resolveConstructor();
+
+            Object code = null;
+            int codeIndex = codeField == null ? -1 : constructorParameterIndex(constructor, codeField);
+            if (codeIndex >= 0 && codeIndex < arguments.length) {
+                code = constantValue(arguments[codeIndex]);
+            }
+
+            // 没有注释时使用构造参数中的字符串, 例如 PAID(1, "已支付")
+            String desc = DocViewUtils.fieldDesc(constant);
+            if (StringUtils.isBlank(desc)) {
+                for (int i = 0; i < arguments.length; i++) {
+                    if (i != codeIndex && constantValue(arguments[i]) instanceof String text) {
+                        desc = text;
+                        break;
+                    }
+                }
+            }
+
+            constantList.add(new EnumDescriptor.Constant(constant.getName(), code,
+                    jsonValue && code != null ? code : constant.getName(), desc));
+        }
+        return new EnumDescriptor(constantList);
+    }
+
+    /**
+     * 枚举的 code 字段: @JsonValue 或 @EnumValue 标注的字段, 否则为名称是 code 或 value 的字段
+     */
+    @Nullable
+    private static PsiField enumCodeField(@NotNull PsiClass enumClass) {
+
+        List<PsiField> fieldList = Arrays.stream(enumClass.getFields())
+                .filter(field -> !(field instanceof PsiEnumConstant) && !field.hasModifierProperty(PsiModifier.STATIC))
+                .toList();
+
+        for (PsiField field : fieldList) {
+            if (isJsonValue(enumClass, field) || CustomAnnotationUtils.isAnnotated(field, ENUM_VALUE)) {
+                return field;
+            }
+        }
+        for (String name : ENUM_CODE_FIELD_NAMES) {
+            for (PsiField field : fieldList) {
+                if (name.equals(field.getName())) {
+                    return field;
+                }
+            }
+        }
+        return null;
+    }
+
+    private static boolean isJsonValue(@NotNull PsiClass enumClass, @NotNull PsiField field) {
+        if (CustomAnnotationUtils.isAnnotated(field, JsonPropertyConstant.JSON_VALUE)) {
+            return true;
+        }
+        // @JsonValue 也可能在 getter 上
+        for (PsiMethod method : enumClass.getMethods()) {
+            if (CustomAnnotationUtils.isAnnotated(method, JsonPropertyConstant.JSON_VALUE)
+                    && field.equals(PropertyUtilBase.getFieldOfGetter(method))) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * 给字段赋值的构造参数位置, 参数名和字段名相同, 或者构造方法中有 this.code = xxx
+     */
+    private static int constructorParameterIndex(@Nullable PsiMethod constructor, @NotNull PsiField field) {
+
+        if (constructor == null) {
+            return -1;
+        }
+
+        PsiParameter[] parameters = constructor.getParameterList().getParameters();
+        for (int i = 0; i < parameters.length; i++) {
+            if (field.getName().equals(parameters[i].getName())) {
+                return i;
+            }
+        }
+
+        for (PsiAssignmentExpression assignment : PsiTreeUtil.findChildrenOfType(constructor.getBody(), PsiAssignmentExpression.class)) {
+            if (assignment.getLExpression() instanceof PsiReferenceExpression left && field.equals(left.resolve())
+                    && assignment.getRExpression() instanceof PsiReferenceExpression right
+                    && right.resolve() instanceof PsiParameter parameter) {
+                return constructor.getParameterList().getParameterIndex(parameter);
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * 常量表达式的值, 不是常量时为表达式文本
+     */
+    private static Object constantValue(@NotNull PsiExpression expression) {
+        Object value = JavaPsiFacade.getInstance(expression.getProject()).getConstantEvaluationHelper()
+                .computeConstantExpression(expression);
+        return value != null ? value : expression.getText();
+    }
+
 }
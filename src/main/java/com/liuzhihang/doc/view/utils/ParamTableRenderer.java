@@ -0,0 +1,266 @@
+package com.liuzhihang.doc.view.utils;
+
+import com.liuzhihang.doc.view.dto.DocViewParamData;
+import org.apache.commons.lang3.StringUtils;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+/**
+ * 参数表格生成
+ * <p>
+ * 参数树先按先序展开成行, 每行的版本等内容只计算一次, 再按列定义输出 Markdown 表格,
+ * 合并展示和按实体切分展示都从同一份行数据生成
+ *
+ * @author liuzhihang
+ * @date 2026/10/19
+ */
+public class ParamTableRenderer {
+
+    /**
+     * 每个单元格预估长度, 用来预先分配 StringBuilder
+     */
+    private static final int CELL_CAPACITY = 16;
+
+    public static final Column NAME = new Column("参数名", row -> row.data.getName());
+    public static final Column PREFIXED_NAME = new Column("参数名",
+            row -> row.data.getPrefixSymbol1() + row.data.getPrefixSymbol2() + row.data.getName());
+    public static final Column TYPE = new Column("类型", row -> row.data.getType());
+    public static final Column EXAMPLE = new Column("参数值", row -> row.data.getExample());
+    public static final Column REQUIRED = new Column("必选", row -> yesOrNo(row.data.getRequired()));
+    public static final Column HEADER_REQUIRED = new Column("必填", row -> yesOrNo(row.data.getRequired()));
+    public static final Column FILTERABLE = new Column("可筛选", row -> yesOrNo(row.data.getFilterable()));
+    public static final Column UPDATEABLE = new Column("可更新", row -> yesOrNo(row.data.getUpdateable()));
+    public static final Column DESC = new Column("描述", row -> row.data.getDesc());
+    public static final Column VERSION = new Column("版本", row -> row.version);
+
+    /**
+     * 请求参数, 合并展示
+     */
+    public static final List<Column> REQUEST_COLUMNS =
+            List.of(PREFIXED_NAME, TYPE, REQUIRED, FILTERABLE, UPDATEABLE, DESC, VERSION);
+
+    /**
+     * 返回参数, 合并展示
+     */
+    public static final List<Column> RESPONSE_COLUMNS = List.of(PREFIXED_NAME, TYPE, REQUIRED, DESC, VERSION);
+
+    /**
+     * 请求参数, 按实体切分展示
+     */
+    public static final List<Column> SEPARATE_REQUEST_COLUMNS =
+            List.of(NAME, TYPE, REQUIRED, FILTERABLE, UPDATEABLE, DESC, VERSION);
+
+    /**
+     * 返回参数, 按实体切分展示
+     */
+    public static final List<Column> SEPARATE_RESPONSE_COLUMNS = List.of(NAME, TYPE, DESC, VERSION);
+
+    public static final List<Column> HEADER_COLUMNS = List.of(NAME, EXAMPLE, HEADER_REQUIRED, DESC, VERSION);
+
+    /**
+     * 先序展开的参数行
+     */
+    private final List<Row> rowList = new ArrayList<>();
+
+    /**
+     * 第一层参数在 rowList 中的位置
+     */
+    private final List<Integer> rootList = new ArrayList<>();
+
+    public ParamTableRenderer(List<DocViewParamData> dataList) {
+        if (dataList != null) {
+            for (DocViewParamData data : dataList) {
+                rootList.add(flatten(data));
+            }
+        }
+    }
+
+    /**
+     * 所有参数输出到一个表格, 子参数紧跟在父参数后面
+     *
+     * @param columns 列
+     * @param skip    不展示的参数, 子参数也一起跳过
+     * @return Markdown 表格, 没有参数时为 ""
+     */
+    @NotNull
+    public String table(@NotNull List<Column> columns, @NotNull Predicate<DocViewParamData> skip) {
+
+        if (rowList.isEmpty()) {
+            return "";
+        }
+
+        StringBuilder builder = new StringBuilder(capacity(rowList.size(), columns));
+        appendHeader(builder, columns);
+
+        int index = 0;
+        while (index < rowList.size()) {
+            Row row = rowList.get(index);
+            if (skip.test(row.data)) {
+                index = row.end;
+                continue;
+            }
+            appendRow(builder, columns, row);
+            index++;
+        }
+        return builder.toString();
+    }
+
+    /**
+     * 每个实体输出一个表格, 有子参数的参数在表格后面单独展示
+     *
+     * @param columns 列
+     * @param skip    不展示的参数, 子参数也一起跳过
+     * @return Markdown 表格, 没有参数时为 ""
+     */
+    @NotNull
+    public String separateTables(@NotNull List<Column> columns, @NotNull Predicate<DocViewParamData> skip) {
+
+        if (rowList.isEmpty()) {
+            return "";
+        }
+
+        StringBuilder builder = new StringBuilder(capacity(rowList.size(), columns));
+        appendSeparate(builder, columns, skip, rootList);
+        return builder.toString();
+    }
+
+    private void appendSeparate(StringBuilder builder, List<Column> columns,
+                                Predicate<DocViewParamData> skip, List<Integer> indexList) {
+
+        if (indexList.isEmpty()) {
+            return;
+        }
+
+        appendHeader(builder, columns);
+
+        List<Row> parentList = new ArrayList<>();
+        for (Integer index : indexList) {
+            Row row = rowList.get(index);
+            if (skip.test(row.data)) {
+                continue;
+            }
+            appendRow(builder, columns, row);
+            if (!row.childList.isEmpty()) {
+                parentList.add(row);
+            }
+        }
+
+        for (Row parent : parentList) {
+
+            // 集合和 Map 直接展示元素的字段
+            Row title = parent;
+            if (parent.childList.size() == 1 && rowList.get(parent.childList.get(0)).data.isCollection()) {
+                title = rowList.get(parent.childList.get(0));
+            } else if (parent.childList.size() == 2 && rowList.get(parent.childList.get(1)).data.isMap()) {
+                title = rowList.get(parent.childList.get(1));
+            }
+
+            builder.append("\n- ").append(title.data.getType()).append(" ").append(title.data.getName()).append("\n\n");
+            appendSeparate(builder, columns, skip, title.childList);
+        }
+    }
+
+    /**
+     * 展开参数及其子参数
+     *
+     * @return 参数所在行
+     */
+    private int flatten(DocViewParamData data) {
+
+        int index = rowList.size();
+        Row row = new Row(data);
+        rowList.add(row);
+
+        if (data.getChildList() != null) {
+            for (DocViewParamData child : data.getChildList()) {
+                row.childList.add(flatten(child));
+            }
+        }
+        row.end = rowList.size();
+        return index;
+    }
+
+    private static void appendHeader(StringBuilder builder, List<Column> columns) {
+        for (Column column : columns) {
+            builder.append("|").append(column.title);
+        }
+        builder.append("|\n");
+        for (int i = 0; i < columns.size(); i++) {
+            builder.append("|:-----");
+        }
+        builder.append("|\n");
+    }
+
+    private static void appendRow(StringBuilder builder, List<Column> columns, Row row) {
+        for (Column column : columns) {
+            builder.append("|").append(column.value.apply(row));
+        }
+        builder.append("|\n");
+    }
+
+    private static int capacity(int rows, List<Column> columns) {
+        return (rows + 2) * columns.size() * CELL_CAPACITY;
+    }
+
+    private static String yesOrNo(Boolean value) {
+        return Boolean.TRUE.equals(value) ? "是" : "否";
+    }
+
+    private static String version(DocViewParamData data) {
+        String since = data.getSince();
+        String version = data.getVersion();
+        if (StringUtils.isBlank(since)) {
+            return StringUtils.isBlank(version) ? "" : version;
+        }
+        return StringUtils.isBlank(version) ? since : since + "-" + version;
+    }
+
+    /**
+     * 表格的一列
+     */
+    public static class Column {
+
+        private final String title;
+
+        private final Function<Row, String> value;
+
+        public Column(String title, Function<Row, String> value) {
+            this.title = title;
+            this.value = value;
+        }
+    }
+
+    /**
+     * 一个参数
+     */
+    public static class Row {
+
+        private final DocViewParamData data;
+
+        private final String version;
+
+        /**
+         * 子参数在 rowList 中的位置
+         */
+        private final List<Integer> childList = new ArrayList<>();
+
+        /**
+         * 子参数之后第一个参数的位置, 跳过该参数时直接跳到这里
+         */
+        private int end;
+
+        private Row(DocViewParamData data) {
+            this.data = data;
+            this.version = version(data);
+        }
+
+        public DocViewParamData getData() {
+            return data;
+        }
+    }
+
+}
@@ -1,13 +1,15 @@
 package com.liuzhihang.doc.view.utils;
 
-import com.intellij.codeInsight.AnnotationUtil;
+import com.intellij.lang.java.JavaLanguage;
 import com.intellij.lang.jvm.annotation.JvmAnnotationAttribute;
 import com.intellij.lang.jvm.annotation.JvmAnnotationAttributeValue;
 import com.intellij.openapi.application.ApplicationManager;
 import com.intellij.openapi.module.Module;
+import com.intellij.openapi.project.Project;
 import com.intellij.openapi.roots.ProjectFileIndex;
 import com.intellij.openapi.roots.ProjectRootManager;
 import com.intellij.openapi.util.Computable;
+import com.intellij.openapi.util.Pair;
 import com.intellij.openapi.vfs.VirtualFile;
 import com.intellij.psi.*;
 import com.intellij.psi.impl.java.stubs.index.JavaAnnotationIndex;
@@ -15,16 +17,23 @@ import com.intellij.psi.impl.source.PsiClassReferenceType;
 import com.intellij.psi.javadoc.PsiDocComment;
 import com.intellij.psi.javadoc.PsiDocTag;
 import com.intellij.psi.search.GlobalSearchScope;
+import com.intellij.psi.util.CachedValueProvider;
+import com.intellij.psi.util.CachedValuesManager;
 import com.intellij.psi.util.InheritanceUtil;
+import com.intellij.psi.util.MethodSignature;
+import com.intellij.psi.util.PsiModificationTracker;
 import com.intellij.psi.util.PsiTypesUtil;
 import com.intellij.psi.util.PsiUtil;
-import com.liuzhihang.doc.view.config.Settings;
+import com.intellij.psi.util.TypeConversionUtil;
 import com.liuzhihang.doc.view.constant.FieldTypeConstant;
 import com.liuzhihang.doc.view.constant.SpringConstant;
 import com.liuzhihang.doc.view.dto.Body;
 import com.liuzhihang.doc.view.dto.Header;
+import com.liuzhihang.doc.view.dto.MappingInfo;
 import com.liuzhihang.doc.view.dto.Param;
+import com.liuzhihang.doc.view.dto.ParameterClassification;
 import com.liuzhihang.doc.view.enums.ContentTypeEnum;
+import com.liuzhihang.doc.view.service.SpringAnnotationRegistry;
 import org.apache.commons.lang3.StringUtils;
 import org.jetbrains.annotations.NotNull;
 
@@ -61,10 +70,9 @@ public class SpringPsiUtils extends ParamPsiUtils {
 
         return ApplicationManager.getApplication().runReadAction((Computable<Boolean>) () -> {
 
-            Settings settings = Settings.getInstance(psiClass.getProject());
-
-            Set<String> containClassAnnotationName = settings.getContainClassAnnotationName();
-            return AnnotationUtil.isAnnotated(psiClass, containClassAnnotationName, 0);
+            // 包含被设置中的注解标注的组合注解
+            Set<String> classAnnotations = SpringAnnotationRegistry.getInstance(psiClass.getProject()).getClassAnnotations();
+            return CustomAnnotationUtils.isAnnotated(psiClass, classAnnotations);
         });
 
     }
@@ -80,9 +88,9 @@ public class SpringPsiUtils extends ParamPsiUtils {
     public static boolean isSpringMethod(@NotNull PsiMethod psiMethod) {
 
         return ApplicationManager.getApplication().runReadAction((Computable<Boolean>) () -> {
-            Settings settings = Settings.getInstance(psiMethod.getProject());
+            Set<String> methodAnnotations = SpringAnnotationRegistry.getInstance(psiMethod.getProject()).getMethodAnnotations();
 
-            return !psiMethod.isConstructor() && CustomPsiUtils.hasModifierProperty(psiMethod, PsiModifier.PUBLIC) && !CustomPsiUtils.hasModifierProperty(psiMethod, PsiModifier.STATIC) && AnnotationUtil.isAnnotated(psiMethod, settings.getContainMethodAnnotationName(), 0);
+            return !psiMethod.isConstructor() && CustomPsiUtils.hasModifierProperty(psiMethod, PsiModifier.PUBLIC) && !CustomPsiUtils.hasModifierProperty(psiMethod, PsiModifier.STATIC) && CustomAnnotationUtils.isAnnotated(psiMethod, methodAnnotations);
         });
 
     }
@@ -94,51 +102,117 @@ public class SpringPsiUtils extends ParamPsiUtils {
      * @return 所有符合 DocView 文档类
      */
     public static List<PsiClass> findDocViewFromModule(Module module) {
+        return findDocViewClasses(module.getProject(), GlobalSearchScope.moduleScope(module));
+    }
 
-        Collection<PsiAnnotation> psiAnnotations = JavaAnnotationIndex.getInstance().get("Controller", module.getProject(), GlobalSearchScope.moduleScope(module));
-        Collection<PsiAnnotation> restController = JavaAnnotationIndex.getInstance().get("RestController", module.getProject(), GlobalSearchScope.moduleScope(module));
-        psiAnnotations.addAll(restController);
-        List<PsiClass> psiClasses = new LinkedList<>();
+    /**
+     * 从指定范围中获取所有符合生成 DocView 文档的类
+     *
+     * @param project project
+     * @param scope   范围, 例如整个项目
+     * @return 所有符合 DocView 文档类
+     */
+    public static List<PsiClass> findDocViewClasses(Project project, GlobalSearchScope scope) {
 
-        for (PsiAnnotation psiAnnotation : psiAnnotations) {
-            PsiModifierList psiModifierList = (PsiModifierList) psiAnnotation.getParent();
-            PsiElement psiElement = psiModifierList.getParent();
+        Set<PsiClass> psiClasses = new LinkedHashSet<>();
 
-            if (psiElement instanceof PsiClass && isSpringClass((PsiClass) psiElement)) {
-                psiClasses.add((PsiClass) psiElement);
+        // 按所有生效的类注解查询索引, 包含组合注解
+        for (String shortName : SpringAnnotationRegistry.getInstance(project).getClassAnnotationShortNames()) {
+            for (PsiAnnotation psiAnnotation : JavaAnnotationIndex.getInstance().get(shortName, project, scope)) {
+                if (!(psiAnnotation.getParent() instanceof PsiModifierList)) {
+                    continue;
+                }
+                PsiElement psiElement = psiAnnotation.getParent().getParent();
+
+                if (psiElement instanceof PsiClass && !((PsiClass) psiElement).isAnnotationType() && isSpringClass((PsiClass) psiElement)) {
+                    psiClasses.add((PsiClass) psiElement);
+                }
             }
         }
-        return psiClasses;
+        return new LinkedList<>(psiClasses);
     }
 
+    /**
+     * 类中所有的接口方法, 包含从父类和接口继承且没有被重写的接口方法
+     * <p>
+     * 例如 UserController extends BaseController&lt;User, Long&gt;, 继承的方法同时返回父类泛型到具体类型的替换关系.
+     * 结果按类缓存, 父类的结果由所有子类共用, 不会重复遍历整个继承结构
+     *
+     * @param psiClass 类
+     * @return 方法及其泛型替换
+     */
     @NotNull
-    public static String method(PsiMethod psiMethod) {
+    public static List<Pair<PsiMethod, PsiSubstitutor>> endpointMethods(@NotNull PsiClass psiClass) {
+        return CachedValuesManager.getCachedValue(psiClass, () -> CachedValueProvider.Result.create(
+                buildEndpointMethods(psiClass),
+                PsiModificationTracker.getInstance(psiClass.getProject()).forLanguage(JavaLanguage.INSTANCE),
+                ProjectRootManager.getInstance(psiClass.getProject())));
+    }
 
-        String method;
-
-        if (AnnotationUtil.isAnnotated(psiMethod, SpringConstant.GET_MAPPING, 0)) {
-            method = GET;
-        } else if (AnnotationUtil.isAnnotated(psiMethod, SpringConstant.POST_MAPPING, 0)) {
-            method = POST;
-        } else if (AnnotationUtil.isAnnotated(psiMethod, SpringConstant.PUT_MAPPING, 0)) {
-            method = PUT;
-        } else if (AnnotationUtil.isAnnotated(psiMethod, SpringConstant.DELETE_MAPPING, 0)) {
-            method = DELETE;
-        } else if (AnnotationUtil.isAnnotated(psiMethod, SpringConstant.PATCH_MAPPING, 0)) {
-            method = PATCH;
-        } else if (AnnotationUtil.isAnnotated(psiMethod, SpringConstant.REQUEST_MAPPING, 0)) {
-            PsiAnnotation annotation = AnnotationUtil.findAnnotation(psiMethod, SpringConstant.REQUEST_MAPPING);
-            if (annotation == null) {
-                method = GET;
-            } else {
-                String value = AnnotationUtil.getStringAttributeValue(annotation, "method");
-                method = value == null ? GET : value;
+    /**
+     * 方法在类中的泛型替换, 自身的方法为 EMPTY
+     *
+     * @param psiClass  类
+     * @param psiMethod 类中的方法或继承的方法
+     * @return 泛型替换
+     */
+    @NotNull
+    public static PsiSubstitutor substitutor(@NotNull PsiClass psiClass, @NotNull PsiMethod psiMethod) {
+        for (Pair<PsiMethod, PsiSubstitutor> pair : endpointMethods(psiClass)) {
+            if (pair.getFirst().equals(psiMethod)) {
+                return pair.getSecond();
             }
-        } else {
-            method = GET;
         }
+        return PsiSubstitutor.EMPTY;
+    }
+
+    private static List<Pair<PsiMethod, PsiSubstitutor>> buildEndpointMethods(@NotNull PsiClass psiClass) {
+
+        List<Pair<PsiMethod, PsiSubstitutor>> result = new ArrayList<>();
+        Set<MethodSignature> signatures = new HashSet<>();
 
-        return method.toUpperCase();
+        for (PsiMethod psiMethod : psiClass.getMethods()) {
+            signatures.add(psiMethod.getSignature(PsiSubstitutor.EMPTY));
+            if (isSpringMethod(psiMethod)) {
+                result.add(Pair.create(psiMethod, PsiSubstitutor.EMPTY));
+            }
+        }
+
+        for (PsiClass superClass : psiClass.getSupers()) {
+
+            if (CommonClassNames.JAVA_LANG_OBJECT.equals(superClass.getQualifiedName())
+                    || InheritanceUtil.isInheritorOrSelf(superClass, psiClass, true)) {
+                continue;
+            }
+
+            // 父类到当前类的泛型替换, 再与父类中方法自身的替换组合
+            PsiSubstitutor superSubstitutor = TypeConversionUtil.getSuperClassSubstitutor(superClass, psiClass, PsiSubstitutor.EMPTY);
+
+            for (Pair<PsiMethod, PsiSubstitutor> pair : endpointMethods(superClass)) {
+                PsiSubstitutor substitutor = compose(pair.getSecond(), superSubstitutor);
+                if (signatures.add(pair.getFirst().getSignature(substitutor))) {
+                    result.add(Pair.create(pair.getFirst(), substitutor));
+                }
+            }
+        }
+        return result;
+    }
+
+    /**
+     * 组合泛型替换, 先按 inner 替换, 结果中的类型参数再按 outer 替换
+     */
+    private static PsiSubstitutor compose(PsiSubstitutor inner, PsiSubstitutor outer) {
+        PsiSubstitutor result = outer;
+        for (Map.Entry<PsiTypeParameter, PsiType> entry : inner.getSubstitutionMap().entrySet()) {
+            result = result.put(entry.getKey(), outer.substitute(entry.getValue()));
+        }
+        return result;
+    }
+
+    @NotNull
+    public static String method(PsiMethod psiMethod) {
+        String method = mappingInfo(psiMethod).getMethod();
+        return StringUtils.isBlank(method) ? GET : method;
     }
 
     /**
@@ -147,7 +221,7 @@ public class SpringPsiUtils extends ParamPsiUtils {
      * @param psiClass  类
      * @param psiMethod 方法
      * @return 路径, 路径开头为 /
-     * @see SpringPsiUtils#path(PsiAnnotation)
+     * @see SpringPsiUtils#path(String)
      */
     @NotNull
     public static String path(PsiClass psiClass, @NotNull PsiMethod psiMethod) {
@@ -176,9 +250,7 @@ public class SpringPsiUtils extends ParamPsiUtils {
     @NotNull
     public static String classPath(PsiClass psiClass) {
         // controller 路径
-        PsiAnnotation annotation = AnnotationUtil.findAnnotation(psiClass, SpringConstant.REQUEST_MAPPING);
-
-        return path(annotation);
+        return mappingInfo(psiClass).getPath();
     }
 
 
@@ -191,7 +263,7 @@ public class SpringPsiUtils extends ParamPsiUtils {
     @NotNull
     public static String className(PsiClass psiClass) {
         // controller 路径
-        PsiAnnotation annotation = AnnotationUtil.findAnnotation(psiClass, SpringConstant.MYBATIS_TABLE_NAME);
+        PsiAnnotation annotation = CustomAnnotationUtils.findAnnotation(psiClass, SpringConstant.MYBATIS_TABLE_NAME);
 
         String stringValue = annotation.findAttributeValue("value") instanceof PsiLiteralValue ?
                 (String) ((PsiLiteralValue) annotation.findAttributeValue("value")).getValue() : null;
@@ -229,14 +301,123 @@ public class SpringPsiUtils extends ParamPsiUtils {
      * @return 请求方式
      */
     public static String methodPath(PsiMethod psiMethod) {
+        return mappingInfo(psiMethod).getPath();
+    }
+
+    /**
+     * 类或方法上 xxxMapping 注解计算后的属性值
+     * <p>
+     * 常量表达式只计算一次, 缓存到 Java 文件发生变化, 目录、检索、http 文件和文档渲染共用
+     *
+     * @param owner 类或方法, 类上读取 @RequestMapping 或 @FeignClient 的 path
+     * @return 属性值
+     */
+    @NotNull
+    public static MappingInfo mappingInfo(@NotNull PsiModifierListOwner owner) {
+        return CachedValuesManager.getCachedValue(owner, () -> CachedValueProvider.Result.create(
+                buildMappingInfo(owner),
+                PsiModificationTracker.getInstance(owner.getProject()).forLanguage(JavaLanguage.INSTANCE),
+                ProjectRootManager.getInstance(owner.getProject())));
+    }
+
+    private static MappingInfo buildMappingInfo(@NotNull PsiModifierListOwner owner) {
+
+        MappingInfo mappingInfo = new MappingInfo();
+
+        List<String> annotations = owner instanceof PsiClass
+                ? Collections.singletonList(SpringConstant.REQUEST_MAPPING) : SpringConstant.MAPPING_ANNOTATIONS;
+        PsiAnnotation annotation = CustomAnnotationUtils.findAnnotation(owner, annotations);
+
+        // Feign 接口的路径前缀在 @FeignClient(path = "/xxx") 中
+        PsiAnnotation feignClient = owner instanceof PsiClass
+                ? CustomAnnotationUtils.findAnnotation(owner, SpringConstant.FEIGN_CLIENT) : null;
+        if (feignClient != null) {
+            List<String> paths = attributeValues(feignClient, "path");
+            if (!paths.isEmpty()) {
+                mappingInfo.setPath(path(paths.get(0)));
+                return mappingInfo;
+            }
+        }
+
+        if (annotation == null) {
+            return mappingInfo;
+        }
+
+        // value 和 path 互为别名, 多个路径时取第一个
+        List<String> paths = attributeValues(annotation, "value");
+        if (paths.isEmpty()) {
+            paths = attributeValues(annotation, "path");
+        }
+        mappingInfo.setPath(paths.isEmpty() ? "" : path(paths.get(0)));
+
+        if (!(owner instanceof PsiClass)) {
+            mappingInfo.setMethod(requestMethod(owner));
+        }
+
+        mappingInfo.setConsumes(attributeValues(annotation, "consumes"));
+        mappingInfo.setHeaders(attributeValues(annotation, "headers"));
+        return mappingInfo;
+    }
+
+    /**
+     * 请求方式, 多个注解时按 GET POST PUT DELETE PATCH 的顺序取第一个
+     */
+    private static String requestMethod(@NotNull PsiModifierListOwner owner) {
+
+        if (CustomAnnotationUtils.isAnnotated(owner, SpringConstant.GET_MAPPING)) {
+            return GET;
+        } else if (CustomAnnotationUtils.isAnnotated(owner, SpringConstant.POST_MAPPING)) {
+            return POST;
+        } else if (CustomAnnotationUtils.isAnnotated(owner, SpringConstant.PUT_MAPPING)) {
+            return PUT;
+        } else if (CustomAnnotationUtils.isAnnotated(owner, SpringConstant.DELETE_MAPPING)) {
+            return DELETE;
+        } else if (CustomAnnotationUtils.isAnnotated(owner, SpringConstant.PATCH_MAPPING)) {
+            return PATCH;
+        }
+
+        PsiAnnotation requestMapping = CustomAnnotationUtils.findAnnotation(owner, SpringConstant.REQUEST_MAPPING);
+        List<String> methods = requestMapping == null ? Collections.emptyList() : attributeValues(requestMapping, "method");
+        return methods.isEmpty() ? GET : methods.get(0).toUpperCase();
+    }
+
+    /**
+     * 计算注解属性值, 支持常量表达式、数组和枚举
+     *
+     * @param annotation    注解
+     * @param attributeName 属性名
+     * @return 属性值, 没有声明时为空
+     */
+    @NotNull
+    private static List<String> attributeValues(@NotNull PsiAnnotation annotation, @NotNull String attributeName) {
+        List<String> values = new ArrayList<>();
+        collectAttributeValues(annotation.findDeclaredAttributeValue(attributeName), values);
+        return values;
+    }
 
-        String url = "";
+    private static void collectAttributeValues(PsiAnnotationMemberValue memberValue, List<String> values) {
 
-        // 是否包含 Spring xxxMapping 注解
-        if (AnnotationUtil.isAnnotated(psiMethod, SpringConstant.MAPPING_ANNOTATIONS, 0)) {
-            url = path(AnnotationUtil.findAnnotation(psiMethod, SpringConstant.MAPPING_ANNOTATIONS));
+        if (memberValue instanceof PsiArrayInitializerMemberValue) {
+            for (PsiAnnotationMemberValue initializer : ((PsiArrayInitializerMemberValue) memberValue).getInitializers()) {
+                collectAttributeValues(initializer, values);
+            }
+            return;
+        }
+
+        // RequestMethod.POST
+        if (memberValue instanceof PsiReferenceExpression
+                && ((PsiReferenceExpression) memberValue).resolve() instanceof PsiEnumConstant) {
+            values.add(((PsiReferenceExpression) memberValue).getReferenceName());
+            return;
+        }
+
+        if (memberValue instanceof PsiExpression) {
+            Object constant = JavaPsiFacade.getInstance(memberValue.getProject()).getConstantEvaluationHelper()
+                    .computeConstantExpression(memberValue);
+            if (constant != null) {
+                values.add(String.valueOf(constant));
+            }
         }
-        return url;
     }
 
     /**
@@ -246,16 +427,11 @@ public class SpringPsiUtils extends ParamPsiUtils {
      * 结束没有 /
      * 空时为 ""
      *
-     * @param annotation 需要解析路径的注解, 可能是 xxxController 也可能是 xxxMapping
-     * @return 注解 value 字段对应的路径
+     * @param path 注解 value 字段对应的值, 可能是 xxxController 也可能是 xxxMapping
+     * @return 规范后的路径
      */
     @NotNull
-    private static String path(PsiAnnotation annotation) {
-        if (annotation == null) {
-            return "";
-        }
-        // 获取注解中 value 字段对应的值
-        String path = AnnotationUtil.getStringAttributeValue(annotation, "value");
+    private static String path(String path) {
         if (path != null) {
             if (!path.startsWith("/")) {
                 path = "/" + path;
@@ -278,37 +454,15 @@ public class SpringPsiUtils extends ParamPsiUtils {
      */
     public static ContentTypeEnum contentType(@NotNull PsiMethod psiMethod) {
 
-        PsiParameter[] parameters = psiMethod.getParameterList().getParameters();
+        for (ParameterClassification.Item item : classifyParameters(psiMethod).getItemList()) {
 
-        for (PsiParameter parameter : parameters) {
-
-            // 通用排除字段
-            if (DocViewUtils.isExcludeParameter(parameter)) {
-                continue;
-            }
-
-            PsiType type = parameter.getType();
-            System.out.println(type);
-            System.out.println(1);
-
-
-            PsiClass psiClass = PsiTypesUtil.getPsiClass(type);
-            if (psiClass == null) {
-                continue;
-            }
-
-            // 检查全限定类名是否为 MultipartFile
-            String qualifiedName = psiClass.getQualifiedName();
-
-            if ("org.springframework.web.multipart.MultipartFile".equals(qualifiedName)) {
+            if (item.getKind() == ParameterClassification.Kind.FORM) {
                 return ContentTypeEnum.FORM_DATA;
             }
 
-
-            if (AnnotationUtil.isAnnotated(parameter, SpringConstant.REQUEST_BODY, 0)) {
+            if (item.getKind() == ParameterClassification.Kind.BODY) {
                 return ContentTypeEnum.JSON;
             }
-
         }
         return ContentTypeEnum.FORM;
     }
@@ -320,20 +474,8 @@ public class SpringPsiUtils extends ParamPsiUtils {
      * @return 被 @RequestBody 修饰的参数
      */
     public static PsiParameter requestBodyParam(@NotNull PsiMethod psiMethod) {
-        PsiParameter[] parameters = psiMethod.getParameterList().getParameters();
-
-        for (PsiParameter parameter : parameters) {
-
-            // 通用排除字段
-            if (DocViewUtils.isExcludeParameter(parameter)) {
-                continue;
-            }
-
-            if (AnnotationUtil.isAnnotated(parameter, SpringConstant.REQUEST_BODY, 0)) {
-                return parameter;
-            }
-        }
-        return null;
+        ParameterClassification.Item item = classifyParameters(psiMethod).first(ParameterClassification.Kind.BODY);
+        return item == null ? null : item.getParameter();
     }
 
     /**
@@ -344,40 +486,70 @@ public class SpringPsiUtils extends ParamPsiUtils {
      */
     @NotNull
     public static List<Header> buildHeader(@NotNull PsiMethod psiMethod) {
+        return buildHeader(psiMethod, PsiSubstitutor.EMPTY);
+    }
+
+    /**
+     * 构建 Header
+     *
+     * @param psiMethod   方法, 可能是从父类继承的方法
+     * @param substitutor 父类泛型到当前类的替换
+     * @return Header
+     */
+    @NotNull
+    public static List<Header> buildHeader(@NotNull PsiMethod psiMethod, @NotNull PsiSubstitutor substitutor) {
         List<Header> list = new ArrayList<>();
 
-        // 先设置 header 中的 contentType
+        // 先设置 header 中的 contentType, xxxMapping 中声明了 consumes 时使用第一个
         ContentTypeEnum contentType = contentType(psiMethod);
+        List<String> consumes = consumes(psiMethod);
         Header contentTypeHeader = new Header();
         contentTypeHeader.setRequired(true);
         contentTypeHeader.setName(contentType.getKey());
-        contentTypeHeader.setValue(contentType.getValue());
+        contentTypeHeader.setValue(consumes.isEmpty() ? contentType.getValue() : consumes.get(0));
         list.add(contentTypeHeader);
 
-        // 判断有无 @Header 注解的参数
-        PsiParameter[] parameters = psiMethod.getParameterList().getParameters();
-
-        for (PsiParameter parameter : parameters) {
-
-            if (!AnnotationUtil.isAnnotated(parameter, SpringConstant.REQUEST_HEADER, 0)) {
+        // xxxMapping 中的 headers 条件, 例如 headers = "X-Version=1", 忽略取反的条件
+        for (String condition : mappingInfo(psiMethod).getHeaders()) {
+            if (condition.startsWith("!") || condition.contains("!=")) {
                 continue;
             }
+            Header header = new Header();
+            header.setRequired(true);
+            header.setName(StringUtils.substringBefore(condition, "=").trim());
+            header.setValue(condition.contains("=") ? StringUtils.substringAfter(condition, "=").trim() : "");
+            list.add(header);
+        }
 
-            PsiType type = parameter.getType();
+        // @RequestHeader 注解的参数
+        for (ParameterClassification.Item item : classifyParameters(psiMethod, substitutor).items(ParameterClassification.Kind.HEADER)) {
 
             // 不是 String 就不处理了
-            if (!"String".equals(type.getPresentableText())) {
+            if (!"String".equals(item.getType().getPresentableText())) {
                 continue;
             }
 
             Header header = new Header();
             header.setRequired(true);
-            header.setName(parameter.getName());
+            header.setName(item.getName());
             list.add(header);
         }
         return list;
     }
 
+    /**
+     * 方法上的 consumes, 方法上没有时使用类上的
+     */
+    @NotNull
+    private static List<String> consumes(@NotNull PsiMethod psiMethod) {
+        List<String> consumes = mappingInfo(psiMethod).getConsumes();
+        PsiClass psiClass = psiMethod.getContainingClass();
+        if (consumes.isEmpty() && psiClass != null) {
+            consumes = mappingInfo(psiClass).getConsumes();
+        }
+        return consumes;
+    }
+
     /**
      * 构建请求 body
      *
@@ -386,37 +558,44 @@ public class SpringPsiUtils extends ParamPsiUtils {
      */
     @NotNull
     public static Body buildBody(@NotNull PsiParameter parameter) {
+        return buildBody(parameter, parameter.getType());
+    }
+
+    /**
+     * 构建请求 body
+     *
+     * @param parameter 请求参数
+     * @param type      参数类型, 继承的接口方法为替换泛型后的类型
+     * @return Body
+     */
+    @NotNull
+    public static Body buildBody(@NotNull PsiParameter parameter, @NotNull PsiType type) {
         Body root = new Body();
-        PsiType type = parameter.getType();
         // 基本类型
         if (type instanceof PsiPrimitiveType || FieldTypeConstant.FIELD_TYPE.containsKey(type.getPresentableText())) {
             Body body = new Body();
             body.setRequired(DocViewUtils.isRequired(parameter));
             body.setName(parameter.getName());
-            body.setType(parameter.getType().getPresentableText());
+            body.setType(type.getPresentableText());
             body.setParent(root);
             // 子集合只有一个
             root.getChildList().add(body);
-            return root;
+            return root.compact();
         }
 
-        // 对象类型：对对象进行解析
-        PsiClass psiClass = PsiUtil.resolveClassInType(type);
-        if (psiClass != null) {
-            root.setQualifiedNameForClassType(psiClass.getQualifiedName());
-            // 获取请求的参数中，是否存在泛型，将泛型与原始对象存储到 map 中
-            PsiClassType psiClassType = (PsiClassType) type;
-            Map<String, PsiType> genericsMap = CustomPsiUtils.getGenericsMap(psiClassType);
-            for (PsiField field : psiClass.getAllFields()) {
+        // 对象类型：对对象进行解析, 字段类型中的泛型按请求参数中的泛型替换
+        Pair<PsiClass, PsiSubstitutor> generics = CustomPsiUtils.resolveGenerics(type);
+        if (generics != null) {
+            root.setQualifiedNameForClassType(generics.getFirst().getQualifiedName());
+            for (Map.Entry<PsiField, PsiType> entry : CustomPsiUtils.substitutedFields(generics.getFirst(), generics.getSecond()).entrySet()) {
                 // 通用排除字段
-                if (DocViewUtils.isExcludeField(field)) {
+                if (DocViewUtils.isExcludeField(entry.getKey())) {
                     continue;
                 }
-                // 增加 genericsMap 参数传入，用于将泛型 T 替换为原始对象
-                ParamPsiUtils.buildBodyParam(field, genericsMap, root, new HashMap<>());
+                ParamPsiUtils.buildBodyParam(entry.getKey(), entry.getValue(), root, new HashMap<>());
             }
         }
-        return root;
+        return root.compact();
     }
 
     /**
@@ -428,22 +607,35 @@ public class SpringPsiUtils extends ParamPsiUtils {
      */
     @NotNull
     public static String reqBodyJson(@NotNull PsiParameter parameter) {
-        Map<String, Object> fieldMap = new LinkedHashMap<>();
+        return reqBodyJson(parameter, parameter.getType());
+    }
+
+    /**
+     * 请求对象的 Json 格式
+     *
+     * @param parameter 参数
+     * @param type      参数类型, 继承的接口方法为替换泛型后的类型
+     * @return json 字符串
+     */
+    @NotNull
+    public static String reqBodyJson(@NotNull PsiParameter parameter, @NotNull PsiType type) {
         String name = parameter.getName();
-        PsiType type = parameter.getType();
 
         if (type instanceof PsiPrimitiveType) {
-            fieldMap.put(name, PsiTypesUtil.getDefaultValue(type));
+            return GsonFormatUtil.gsonFormat(writer -> {
+                writer.beginObject().name(name);
+                GsonFormatUtil.writeValue(writer, PsiTypesUtil.getDefaultValue(type));
+                writer.endObject();
+            });
         } else if (FieldTypeConstant.FIELD_TYPE.containsKey(type.getPresentableText())) {
-            fieldMap.put(name, FieldTypeConstant.FIELD_TYPE.get(type.getPresentableText()));
-        } else {
-            PsiClass psiClass = PsiUtil.resolveClassInType(type);
-            if (psiClass != null) {
-                fieldMap = ParamPsiUtils.getFieldsAndDefaultValue(psiClass, null);
-            }
+            return GsonFormatUtil.gsonFormat(writer -> {
+                writer.beginObject().name(name);
+                GsonFormatUtil.writeValue(writer, FieldTypeConstant.FIELD_TYPE.get(type.getPresentableText()));
+                writer.endObject();
+            });
         }
 
-        return GsonFormatUtil.gsonFormat(fieldMap);
+        return ParamPsiUtils.exampleJson(type);
 
     }
 
@@ -482,51 +674,48 @@ public class SpringPsiUtils extends ParamPsiUtils {
      * @return 参数
      */
     public static List<Param> buildFormParam(PsiMethod psiMethod) {
+        return buildFormParam(psiMethod, PsiSubstitutor.EMPTY);
+    }
+
+    /**
+     * 解析方法中的参数
+     *
+     * @param psiMethod   方法, 可能是从父类继承的方法
+     * @param substitutor 父类泛型到当前类的替换, 例如 @PathVariable ID id 中的 ID
+     * @return 参数
+     */
+    public static List<Param> buildFormParam(PsiMethod psiMethod, @NotNull PsiSubstitutor substitutor) {
 
         if (!psiMethod.hasParameters()) {
             return null;
         }
 
-        PsiParameter[] parameters = psiMethod.getParameterList().getParameters();
+        // 排除的参数、@RequestBody 和 @RequestHeader 注解的参数不在表单中
+        List<ParameterClassification.Item> items = classifyParameters(psiMethod, substitutor).items(ParameterClassification.Kind.PATH,
+                ParameterClassification.Kind.QUERY, ParameterClassification.Kind.FORM);
 
         Set<String> paramNameSet = new HashSet<>();
         List<Param> list = new ArrayList<>();
-        for (PsiParameter parameter : parameters) {
-
-            // 有 @RequestBody 注解
-            if (AnnotationUtil.isAnnotated(parameter, SpringConstant.REQUEST_BODY, 0)) {
-                continue;
-            }
-
-            // 有 @RequestHeader 注解
-            if (AnnotationUtil.isAnnotated(parameter, SpringConstant.REQUEST_HEADER, 0)) {
-                continue;
-            }
+        for (ParameterClassification.Item item : items) {
 
-            // 需要排除的字段
-            if (DocViewUtils.isExcludeParameter(parameter)) {
-                continue;
-            }
+            PsiParameter parameter = item.getParameter();
 
             // 已经包含该字段
             if (!paramNameSet.add(parameter.getName())) {
                 continue;
             }
 
-            PsiType type = parameter.getType();
+            PsiType type = item.getType();
 
-            if (type instanceof PsiPrimitiveType || FieldTypeConstant.FIELD_TYPE.containsKey(type.getPresentableText())) {
-                list.add(buildPramFromParameter(psiMethod, parameter));
-            } else if (InheritanceUtil.isInheritor(type, "org.springframework.core.io.InputStreamSource")) {
-                list.add(buildPramFromParameter(psiMethod, parameter));
+            if (item.isSimple() || item.getKind() == ParameterClassification.Kind.FORM) {
+                list.add(buildPramFromParameter(psiMethod, parameter, type));
             } else if (InheritanceUtil.isInheritor(type, CommonClassNames.JAVA_UTIL_COLLECTION)) {
-                list.add(buildPramFromParameter(psiMethod, parameter));
+                list.add(buildPramFromParameter(psiMethod, parameter, type));
             } else if (InheritanceUtil.isInheritor(type, CommonClassNames.JAVA_UTIL_MAP)) {
-                list.add(buildPramFromParameter(psiMethod, parameter));
+                list.add(buildPramFromParameter(psiMethod, parameter, type));
             } else {
 
-                PsiClass fieldClass = PsiUtil.resolveClassInClassTypeOnly(type);
-
+                PsiClass fieldClass = item.getPsiClass();
 
                 if (fieldClass != null) {
                     if (isExternal(fieldClass)) {
@@ -584,7 +773,7 @@ public class SpringPsiUtils extends ParamPsiUtils {
 
 
         //body处理jsonignore
-        PsiAnnotation jsonProperty = field.getAnnotation("com.fasterxml.jackson.annotation.JsonIgnore");
+        PsiAnnotation jsonProperty = CustomAnnotationUtils.findAnnotation(field, "com.fasterxml.jackson.annotation.JsonIgnore");
         // 1. 什么都没写
         if (jsonProperty != null) {
             // 2. 取 access = JsonProperty.Access.xxx
@@ -642,7 +831,7 @@ public class SpringPsiUtils extends ParamPsiUtils {
 
     //直接从参数构建
     @NotNull
-    private static Param buildPramFromParameter(PsiMethod psiMethod, PsiParameter parameter) {
+    private static Param buildPramFromParameter(PsiMethod psiMethod, PsiParameter parameter, PsiType type) {
 
         Param param = new Param();
 
@@ -656,7 +845,7 @@ public class SpringPsiUtils extends ParamPsiUtils {
 
 
         param.setName(parameter.getName());
-        param.setType(parameter.getType().getPresentableText());
+        param.setType(type.getPresentableText());
 
         // 备注需要从注释中获取
         PsiDocComment docComment = psiMethod.getDocComment();
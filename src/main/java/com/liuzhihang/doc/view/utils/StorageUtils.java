@@ -1,10 +1,20 @@
 package com.liuzhihang.doc.view.utils;
 
+import com.intellij.openapi.application.PathManager;
+import com.intellij.openapi.diagnostic.Logger;
 import com.intellij.openapi.project.Project;
 import com.intellij.project.ProjectKt;
+import com.intellij.util.io.DataInputOutputUtil;
+import com.intellij.util.io.IOUtil;
+import com.liuzhihang.doc.view.dto.CatalogSnapshot;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 
+import java.io.*;
+import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
 import java.util.Objects;
 
 /**
@@ -13,9 +23,137 @@ import java.util.Objects;
  */
 public class StorageUtils {
 
+    private static final Logger LOG = Logger.getInstance(StorageUtils.class);
+
+    /**
+     * 目录快照格式版本, 结构变化时递增, 旧版本快照直接丢弃
+     */
+    private static final int CATALOG_VERSION = 1;
+
     public static Path getConfigDir(Project project) {
         Path configDir = ProjectKt.getStateStore(project).getDirectoryStorePath();
         return Paths.get(Objects.requireNonNull(configDir).toString(), "doc-view", "temp");
     }
 
+    /**
+     * 目录快照保存在 IDE 的系统缓存目录下, 避免被提交到版本库
+     *
+     * @param project project
+     * @return 快照文件
+     */
+    public static Path getCatalogSnapshotPath(@NotNull Project project) {
+        return Paths.get(PathManager.getSystemPath(), "doc-view", project.getLocationHash(), "catalog.bin");
+    }
+
+    /**
+     * 读取目录快照
+     *
+     * @param project project
+     * @return 快照, 不存在或版本不一致时返回 null
+     */
+    @Nullable
+    public static CatalogSnapshot readCatalogSnapshot(@NotNull Project project) {
+
+        Path path = getCatalogSnapshotPath(project);
+
+        if (!Files.isRegularFile(path)) {
+            return null;
+        }
+
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(path)))) {
+
+            if (DataInputOutputUtil.readINT(in) != CATALOG_VERSION) {
+                return null;
+            }
+
+            CatalogSnapshot snapshot = new CatalogSnapshot();
+
+            int moduleSize = DataInputOutputUtil.readINT(in);
+            for (int i = 0; i < moduleSize; i++) {
+                CatalogSnapshot.ModuleItem moduleItem = new CatalogSnapshot.ModuleItem();
+                moduleItem.setName(IOUtil.readUTF(in));
+
+                int classSize = DataInputOutputUtil.readINT(in);
+                for (int j = 0; j < classSize; j++) {
+                    CatalogSnapshot.ClassItem classItem = new CatalogSnapshot.ClassItem();
+                    classItem.setQualifiedName(IOUtil.readUTF(in));
+                    classItem.setTitle(IOUtil.readUTF(in));
+                    classItem.setInterfaceType(in.readBoolean());
+                    classItem.setFileUrl(IOUtil.readUTF(in));
+                    classItem.setFileStamp(DataInputOutputUtil.readLONG(in));
+
+                    int methodSize = DataInputOutputUtil.readINT(in);
+                    for (int k = 0; k < methodSize; k++) {
+                        CatalogSnapshot.MethodItem methodItem = new CatalogSnapshot.MethodItem();
+                        methodItem.setName(IOUtil.readUTF(in));
+                        methodItem.setMethodName(IOUtil.readUTF(in));
+                        methodItem.setSignature(IOUtil.readUTF(in));
+                        methodItem.setDesc(IOUtil.readUTF(in));
+                        methodItem.setPath(IOUtil.readUTF(in));
+                        methodItem.setMethod(IOUtil.readUTF(in));
+                        classItem.getMethodList().add(methodItem);
+                    }
+                    moduleItem.getClassList().add(classItem);
+                }
+                snapshot.getModuleList().add(moduleItem);
+            }
+            return snapshot;
+        } catch (IOException e) {
+            LOG.warn("Doc View read catalog snapshot error", e);
+            return null;
+        }
+    }
+
+    /**
+     * 保存目录快照, 先写临时文件再替换, 避免写一半时 IDE 退出
+     *
+     * @param project  project
+     * @param snapshot 快照
+     */
+    public static void writeCatalogSnapshot(@NotNull Project project, @NotNull CatalogSnapshot snapshot) {
+
+        Path path = getCatalogSnapshotPath(project);
+        Path tempPath = path.resolveSibling(path.getFileName() + ".tmp");
+
+        try {
+            Files.createDirectories(path.getParent());
+
+            try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(tempPath)))) {
+
+                DataInputOutputUtil.writeINT(out, CATALOG_VERSION);
+                DataInputOutputUtil.writeINT(out, snapshot.getModuleList().size());
+
+                for (CatalogSnapshot.ModuleItem moduleItem : snapshot.getModuleList()) {
+                    writeString(out, moduleItem.getName());
+                    DataInputOutputUtil.writeINT(out, moduleItem.getClassList().size());
+
+                    for (CatalogSnapshot.ClassItem classItem : moduleItem.getClassList()) {
+                        writeString(out, classItem.getQualifiedName());
+                        writeString(out, classItem.getTitle());
+                        out.writeBoolean(classItem.isInterfaceType());
+                        writeString(out, classItem.getFileUrl());
+                        DataInputOutputUtil.writeLONG(out, classItem.getFileStamp());
+                        DataInputOutputUtil.writeINT(out, classItem.getMethodList().size());
+
+                        for (CatalogSnapshot.MethodItem methodItem : classItem.getMethodList()) {
+                            writeString(out, methodItem.getName());
+                            writeString(out, methodItem.getMethodName());
+                            writeString(out, methodItem.getSignature());
+                            writeString(out, methodItem.getDesc());
+                            writeString(out, methodItem.getPath());
+                            writeString(out, methodItem.getMethod());
+                        }
+                    }
+                }
+            }
+            Files.move(tempPath, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            LOG.warn("Doc View write catalog snapshot error", e);
+        }
+    }
+
+    private static void writeString(DataOutput out, String value) throws IOException {
+        IOUtil.writeUTF(out, value == null ? "" : value);
+    }
+
 }
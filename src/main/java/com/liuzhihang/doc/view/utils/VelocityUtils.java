@@ -1,15 +1,26 @@
 package com.liuzhihang.doc.view.utils;
 
+import com.intellij.util.io.DigestUtil;
 import com.liuzhihang.doc.view.dto.DocViewData;
+import org.apache.velocity.Template;
 import org.apache.velocity.VelocityContext;
 import org.apache.velocity.app.VelocityEngine;
 import org.apache.velocity.runtime.RuntimeConstants;
+import org.apache.velocity.runtime.resource.loader.StringResourceLoader;
+import org.apache.velocity.runtime.resource.util.StringResourceRepository;
 
 import java.io.StringWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
 import java.util.Properties;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * 根据模版生成对应的内容
+ * <p>
+ * 模版通过 StringResourceLoader 编译为 Template 后按内容的 hash 缓存, 同一个模版只解析一次,
+ * 模版设置修改后清空缓存
  *
  * @author liuzhihang
  * @date 2020/11/21 15:38
@@ -17,7 +28,16 @@ import java.util.Properties;
 public class VelocityUtils {
 
     private static VelocityEngine engine;
-    private static String VM_LOG_TAG = "DocView VelocityUtils";
+
+    /**
+     * 模版名称前缀, 避免和其他使用默认 StringResourceRepository 的插件冲突
+     */
+    private static final String TEMPLATE_NAME_PREFIX = "DocView/";
+
+    /**
+     * 模版内容 hash -> 编译后的模版
+     */
+    private static final Map<String, Template> TEMPLATE_CACHE = new ConcurrentHashMap<>();
 
     static {
         engine = new VelocityEngine();
@@ -25,6 +45,11 @@ public class VelocityUtils {
         engine.setProperty(RuntimeConstants.INPUT_ENCODING, "UTF-8");
         // engine.setProperty(RuntimeConstants.OUTPUT_ENCODING, "UTF-8");
 
+        // 编译后的模版由 TEMPLATE_CACHE 持有, 不需要 Velocity 再缓存一份
+        engine.setProperty("resource.loader", "string");
+        engine.setProperty("string.resource.loader.class", StringResourceLoader.class.getName());
+        engine.setProperty("string.resource.loader.cache", false);
+
         Properties props = new Properties();
         props.put("runtime.log.logsystem.class", "org.apache.velocity.runtime.log.SimpleLog4JLogSystem");
         props.put("runtime.log.logsystem.log4j.category", "velocity");
@@ -34,17 +59,50 @@ public class VelocityUtils {
 
     public static String convert(String template, DocViewData data) {
 
-
         StringWriter writer = new StringWriter();
+        convert(template, data, writer);
+
+        return writer.toString();
+    }
+
+    /**
+     * 直接输出到 writer, 例如导出时的文件, 不再生成完整的字符串
+     *
+     * @param template 模版
+     * @param data     文档数据
+     * @param writer   输出
+     */
+    public static void convert(String template, DocViewData data, Writer writer) {
+
         VelocityContext velocityContext = new VelocityContext();
         velocityContext.put("DocView", data);
-        boolean isSuccess = engine.evaluate(velocityContext, writer, VM_LOG_TAG, template);
-        if (!isSuccess) {
-            return "ERROR";
-        }
+        compile(template).merge(velocityContext, writer);
+    }
 
+    /**
+     * 模版设置修改后清空已编译的模版
+     */
+    public static void clearTemplateCache() {
+        TEMPLATE_CACHE.clear();
+    }
 
-        return writer.toString();
+    private static Template compile(String template) {
+
+        String hash = DigestUtil.sha256Hex(template.getBytes(StandardCharsets.UTF_8));
+
+        return TEMPLATE_CACHE.computeIfAbsent(hash, key -> {
+
+            String name = TEMPLATE_NAME_PREFIX + key;
+            StringResourceRepository repository = StringResourceLoader.getRepository();
+
+            // 只在加载时放入仓库, 加载完成后由缓存持有
+            repository.putStringResource(name, template, "UTF-8");
+            try {
+                return engine.getTemplate(name, "UTF-8");
+            } finally {
+                repository.removeStringResource(name);
+            }
+        });
     }
 
 }
@@ -0,0 +1,149 @@
+package com.liuzhihang.doc.view;
+
+import com.liuzhihang.doc.view.config.Settings;
+import com.liuzhihang.doc.view.dto.Body;
+import com.liuzhihang.doc.view.dto.DocView;
+import com.liuzhihang.doc.view.dto.DocViewData;
+import com.liuzhihang.doc.view.dto.Header;
+import com.liuzhihang.doc.view.dto.Param;
+import com.liuzhihang.doc.view.enums.FrameworkEnum;
+import com.liuzhihang.doc.view.utils.BuiltInTemplateRenderer;
+import com.liuzhihang.doc.view.utils.VelocityUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.ResourceBundle;
+import java.util.function.Function;
+
+/**
+ * 内置模版和 Velocity 模版的对比
+ * <p>
+ * 生成一个包含大量接口的模拟项目, 分别用两种方式生成全部文档, 先校验输出一致, 再比较耗时
+ *
+ * @author liuzhihang
+ * @date 2026/10/19
+ */
+public class TemplateRenderBenchmark {
+
+    private static final int DOC_COUNT = 5000;
+
+    private static final int ROUNDS = 5;
+
+    public static void main(String[] args) {
+
+        ResourceBundle bundle = ResourceBundle.getBundle("messages.DocViewBundle");
+        String springTemplate = bundle.getString("template.spring.init");
+        String dubboTemplate = bundle.getString("template.dubbo.init");
+
+        Settings settings = new Settings();
+        List<DocView> docViewList = new ArrayList<>(DOC_COUNT);
+        for (int i = 0; i < DOC_COUNT; i++) {
+            docViewList.add(docView(i));
+        }
+
+        Function<DocViewData, String> velocity = data -> VelocityUtils.convert(
+                FrameworkEnum.DUBBO.toString().equals(data.getType()) ? dubboTemplate : springTemplate, data);
+        Function<DocViewData, String> builtIn = data -> FrameworkEnum.DUBBO.toString().equals(data.getType())
+                ? BuiltInTemplateRenderer.dubbo(data) : BuiltInTemplateRenderer.spring(data);
+
+        // 校验两种方式的输出完全一致
+        for (DocView docView : docViewList) {
+            String expected = velocity.apply(new DocViewData(docView, settings));
+            String actual = builtIn.apply(new DocViewData(docView, settings));
+            if (!expected.equals(actual)) {
+                throw new IllegalStateException("输出不一致: " + docView.getName());
+            }
+        }
+
+        for (int round = 1; round <= ROUNDS; round++) {
+            // 表格在两种方式中都会生成, 提前生成后只比较模版本身的耗时
+            List<DocViewData> dataList = prepare(docViewList, settings);
+            long velocityNanos = render(dataList, velocity);
+            long builtInNanos = render(dataList, builtIn);
+
+            System.out.printf("round %d: %d docs, velocity %d ms, built-in %d ms%n",
+                    round, DOC_COUNT, velocityNanos / 1_000_000, builtInNanos / 1_000_000);
+        }
+    }
+
+    private static List<DocViewData> prepare(List<DocView> docViewList, Settings settings) {
+        List<DocViewData> dataList = new ArrayList<>(docViewList.size());
+        for (DocView docView : docViewList) {
+            DocViewData data = new DocViewData(docView, settings);
+            data.getRequestHeader();
+            data.getRequestParam();
+            data.getRequestBody();
+            data.getRequestExample();
+            data.getResponseParam();
+            data.getResponseExample();
+            dataList.add(data);
+        }
+        return dataList;
+    }
+
+    private static long render(List<DocViewData> dataList, Function<DocViewData, String> renderer) {
+        long length = 0;
+        long start = System.nanoTime();
+        for (DocViewData data : dataList) {
+            length += renderer.apply(data).length();
+        }
+        long nanos = System.nanoTime() - start;
+        if (length == 0) {
+            throw new IllegalStateException();
+        }
+        return nanos;
+    }
+
+    private static DocView docView(int index) {
+
+        DocView docView = new DocView();
+        docView.setType(index % 4 == 0 ? FrameworkEnum.DUBBO : FrameworkEnum.SPRING);
+        docView.setName("接口" + index);
+        docView.setDesc(index % 7 == 0 ? null : "模拟接口 " + index + " 的描述");
+        docView.setPath("/api/module" + index % 50 + "/resource/" + index);
+        docView.setMethod(index % 2 == 0 ? "GET" : "POST");
+
+        List<Header> headerList = new ArrayList<>();
+        Header header = new Header();
+        header.setName("Authorization");
+        header.setValue("Bearer token");
+        header.setRequired(true);
+        header.setDesc("登录凭证");
+        headerList.add(header);
+        docView.setHeaderList(headerList);
+
+        List<Param> paramList = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            Param param = new Param();
+            param.setName("param" + i);
+            param.setType("String");
+            param.setRequired(i == 0);
+            param.setDesc("查询参数 " + i);
+            paramList.add(param);
+        }
+        docView.setReqParamList(paramList);
+
+        docView.getReqBody().setChildList(bodyList("request", 3, 6));
+        docView.getRespBody().setChildList(bodyList("response", 3, 6));
+        docView.setReqBodyExample("{\n    \"id\": 0\n}");
+        docView.setRespExample("{\n    \"code\": 0,\n    \"data\": {}\n}");
+
+        return docView;
+    }
+
+    private static List<Body> bodyList(String prefix, int depth, int width) {
+        List<Body> bodyList = new ArrayList<>(width);
+        for (int i = 0; i < width; i++) {
+            Body body = new Body();
+            body.setName(prefix + i);
+            body.setType(depth > 1 && i == 0 ? "Object" : "String");
+            body.setRequired(i % 2 == 0);
+            body.setDesc("字段 " + prefix + i);
+            if (depth > 1 && i == 0) {
+                body.setChildList(bodyList(prefix + i + "_", depth - 1, width));
+            }
+            bodyList.add(body);
+        }
+        return bodyList;
+    }
+}